@@ -0,0 +1,109 @@
+package catan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds fixed game positions for the benchmarks. Everything random (terrain, setup
+ * placements, dice and agent choices) comes from one seeded Random, so a given seed
+ * and round count always produce the same position.
+ */
+public final class BenchmarkStates {
+    public static final long SEED = 20240211L;
+    public static final int MID_GAME_ROUNDS = 25;
+    public static final int LATE_GAME_ROUNDS = 80;
+
+    private BenchmarkStates() {
+    }
+
+    public static GameState midGame() {
+        return build(SEED, MID_GAME_ROUNDS);
+    }
+
+    public static GameState lateGame() {
+        return build(SEED, LATE_GAME_ROUNDS);
+    }
+
+    public static GameState forStage(String stage) {
+        return "late".equals(stage) ? lateGame() : midGame();
+    }
+
+    /**
+     * Plays setup and then the given number of rounds of random play. Stops early
+     * if somebody reaches 10 VP so the position is always a live game.
+     */
+    public static GameState build(long seed, int rounds) {
+        Random rng = new Random(seed);
+        Board board = new Board(BoardLayout.createStandardLayout(rng));
+        ResourceBank bank = new ResourceBank();
+        Player[] players = new Player[4];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new Player(i + 1, new RandomStrategy(new Random(rng.nextLong())));
+        }
+        GameState state = new GameState(board, bank, players);
+        ActionLogger logger = new ActionLogger(false);
+        ActionGenerator generator = new ActionGenerator();
+        ResourceProductionEngine production = new ResourceProductionEngine(board, bank, logger);
+        LongestRoadTracker tracker = new LongestRoadTracker();
+
+        for (int i = 0; i < players.length; i++) {
+            placeStartingPieces(players[i], board, bank, rng, false);
+        }
+        for (int i = players.length - 1; i >= 0; i--) {
+            placeStartingPieces(players[i], board, bank, rng, true);
+        }
+        tracker.update(players, board, logger, 0);
+
+        for (int round = 1; round <= rounds; round++) {
+            for (Player p : players) {
+                int roll = (rng.nextInt(6) + 1) + (rng.nextInt(6) + 1);
+                state.setCurrentRoll(roll);
+                production.produce(roll, players, round);
+                while (true) {
+                    List<Action> actions = generator.getExecutableActions(state, p, p.handSize() > 7);
+                    Action chosen = p.chooseAction(actions);
+                    if (chosen instanceof PassAction) break;
+                    chosen.execute(state, p);
+                    tracker.update(players, board, logger, round);
+                    if (p.getVP() >= 9) return state;
+                }
+            }
+        }
+        return state;
+    }
+
+    private static void placeStartingPieces(Player player, Board board, ResourceBank bank,
+                                            Random rng, boolean giveResources) {
+        List<Node> candidates = new ArrayList<>();
+        for (Node n : board.getNodes()) {
+            if (board.isOccupied(n)) continue;
+            boolean free = true;
+            for (Node neighbor : board.getAdjacentNodes(n)) {
+                if (board.isOccupied(neighbor)) free = false;
+            }
+            if (free) candidates.add(n);
+        }
+        Node node = candidates.get(rng.nextInt(candidates.size()));
+        board.setBuilding(node, new Settlement(player));
+        player.getPieces().takeSettlement();
+        player.addVP(1);
+
+        List<Edge> edges = new ArrayList<>();
+        for (Edge e : node.getIncidentEdges()) {
+            if (!board.isOccupied(e)) edges.add(e);
+        }
+        if (!edges.isEmpty()) {
+            Edge edge = edges.get(rng.nextInt(edges.size()));
+            board.setRoad(edge, new Road(player));
+            player.getPieces().takeRoad();
+        }
+
+        if (giveResources) {
+            for (Tile tile : node.getAdjacentTiles()) {
+                ResourceType resource = board.getProducedResource(tile);
+                if (resource != null) bank.payTo(player, resource, 1);
+            }
+        }
+    }
+}
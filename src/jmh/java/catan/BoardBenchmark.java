@@ -0,0 +1,43 @@
+package catan;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-game setup cost: generating the standard layout and building a Board from it,
+ * and a full headless game from construction to game over.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BoardBenchmark {
+
+    private final Random rng = new Random(BenchmarkStates.SEED);
+    private long gameSeed = BenchmarkStates.SEED;
+
+    @Benchmark
+    public Board buildStandardBoard() {
+        return new Board(BoardLayout.createStandardLayout(rng));
+    }
+
+    @Benchmark
+    public Player fullHeadlessGame() {
+        // Walk a fixed sequence of seeds so every run plays the same games
+        Game game = new Game(100, true, gameSeed++);
+        game.run();
+        return game.getWinner();
+    }
+}
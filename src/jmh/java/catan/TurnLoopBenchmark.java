@@ -0,0 +1,100 @@
+package catan;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Hot paths that run inside every turn, measured on fixed mid-game and late-game positions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TurnLoopBenchmark {
+
+    @Param({"mid", "late"})
+    public String stage;
+
+    private GameState state;
+    private Player[] players;
+    private ActionGenerator generator;
+    private LongestRoadTracker tracker;
+    private ResourceProductionEngine production;
+    private int[][] handBaseline;
+    private final int[] legalIds = new int[ActionIds.COUNT];
+    private int roll;
+
+    @Setup
+    public void setUp() {
+        state = BenchmarkStates.forStage(stage);
+        players = state.getPlayers();
+        generator = new ActionGenerator();
+        tracker = new LongestRoadTracker();
+        production = new ResourceProductionEngine(state.getBoard(), state.getBank(),
+            new ActionLogger(false));
+        ResourceType[] types = ResourceType.values();
+        handBaseline = new int[players.length][types.length];
+        for (int i = 0; i < players.length; i++) {
+            for (ResourceType r : types) {
+                handBaseline[i][r.ordinal()] = players[i].getHand().get(r);
+            }
+        }
+        roll = 2;
+    }
+
+    @Benchmark
+    public void executableActions(Blackhole bh) {
+        for (Player p : players) {
+            List<Action> actions = generator.getExecutableActions(state, p, false);
+            bh.consume(actions);
+        }
+    }
+
+    @Benchmark
+    public void executableActionIds(Blackhole bh) {
+        for (Player p : players) {
+            bh.consume(generator.getExecutableActionIds(state, p, false, legalIds));
+        }
+    }
+
+    @Benchmark
+    public void longestRoad(Blackhole bh) {
+        for (Player p : players) {
+            bh.consume(tracker.calculateLongestRoad(p, state.getBoard()));
+        }
+    }
+
+    /**
+     * Produces for the next roll in 2..12, then hands the cards back so the bank never
+     * runs dry. The refund is part of the measured time.
+     */
+    @Benchmark
+    public void produce() {
+        production.produce(roll, players, 1);
+        roll = roll == 12 ? 2 : roll + 1;
+        for (int i = 0; i < players.length; i++) {
+            for (ResourceType r : ResourceType.values()) {
+                int extra = players[i].getHand().get(r) - handBaseline[i][r.ordinal()];
+                if (extra > 0) {
+                    players[i].getHand().remove(r, extra);
+                    state.getBank().returnResources(r, extra);
+                }
+            }
+        }
+    }
+}
@@ -3,5 +3,13 @@ package catan;
 public interface Action {
     boolean isExecutable(GameState state, Player p);
     void execute(GameState state, Player p);
-    String describe();
+
+    /**
+     * Exact inverse of execute: returns pieces, cost and VP. Only valid straight after
+     * execute (or after undoing everything executed since). Use GameState.apply/undo.
+     */
+    void undo(GameState state, Player p);
+
+    /** Log text for the action; the board supplies terrain and tokens around the target. */
+    String describe(Board board);
 }
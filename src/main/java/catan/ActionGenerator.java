@@ -3,49 +3,122 @@ package catan;
 import java.util.List;
 import java.util.ArrayList;
 
+/**
+ * Lists the actions a player can take right now.
+ *
+ * The board's BitBoard keeps each player's legal road and settlement spots up to date
+ * as pieces come and go, and city spots are just the player's settlements. So this only
+ * checks affordability once per cost class and walks the set bits of those masks.
+ *
+ * Legal moves come out as ActionIds in ascending order (roads, settlements, cities,
+ * pass). The id, mask and list-filling variants allocate nothing; the lists hold the
+ * board's shared ActionSpace objects. One generator should only be used from one thread.
+ */
 public class ActionGenerator {
-    private final RuleEngine rules;
+    private final int[] ids = new int[ActionIds.COUNT];
 
-    public ActionGenerator(RuleEngine rules) {
-        this.rules = rules;
-    }
-
-    public List<Action> getExecutableActions(GameState state, Player p, boolean mustBuild) {
-        List<Action> actions = new ArrayList<>();
-        Board board = state.getBoard();
+    /** Writes the ids of p's legal actions into out and returns how many there are. */
+    public int getExecutableActionIds(GameState state, Player p, boolean mustBuild, int[] out) {
+        BitBoard bits = state.getBoard().getBitBoard();
+        PiecePool pieces = p.getPieces();
+        int count = 0;
 
         // Build road actions
-        if (p.canAfford(Cost.roadCost())) {
-            for (Edge e : board.getAllEdges()) {
-                if (rules.canBuildRoad(p, e)) {
-                    actions.add(new BuildRoadAction(e));
-                }
+        if (pieces.hasRoad() && p.canAfford(Cost.roadCost())) {
+            for (long m = bits.getRoadSpotsLo(p); m != 0; m &= m - 1) {
+                out[count++] = ActionIds.ROAD_BASE + Long.numberOfTrailingZeros(m);
+            }
+            for (long m = bits.getRoadSpotsHi(p); m != 0; m &= m - 1) {
+                out[count++] = ActionIds.ROAD_BASE + 64 + Long.numberOfTrailingZeros(m);
             }
         }
 
         // Build settlement actions
-        if (p.canAfford(Cost.settlementCost())) {
-            for (Node n : board.getNodes()) {
-                if (rules.canBuildSettlement(p, n)) {
-                    actions.add(new BuildSettlementAction(n));
-                }
+        if (pieces.hasSettlement() && p.canAfford(Cost.settlementCost())) {
+            for (long m = bits.getSettlementSpots(p); m != 0; m &= m - 1) {
+                out[count++] = ActionIds.SETTLEMENT_BASE + Long.numberOfTrailingZeros(m);
             }
         }
 
         // Upgrade to city actions
-        if (p.canAfford(Cost.cityCost())) {
-            for (Node n : board.getNodes()) {
-                if (rules.canUpgradeToCity(p, n)) {
-                    actions.add(new UpgradeToCityAction(n));
-                }
+        if (pieces.hasCity() && p.canAfford(Cost.cityCost())) {
+            for (long m = bits.getSettlements(p); m != 0; m &= m - 1) {
+                out[count++] = ActionIds.CITY_BASE + Long.numberOfTrailingZeros(m);
             }
         }
 
         // If mustBuild is false, or no build actions available, add pass
-        if (!mustBuild || actions.isEmpty()) {
-            actions.add(new PassAction());
+        if (!mustBuild || count == 0) {
+            out[count++] = ActionIds.PASS;
+        }
+        return count;
+    }
+
+    /**
+     * Sets bit id of mask (word id / 64) for every legal action of p, clearing the rest.
+     * mask needs ActionIds.MASK_WORDS longs.
+     */
+    public void getExecutableActionMask(GameState state, Player p, boolean mustBuild, long[] mask) {
+        getExecutableActionMask(state, p, mustBuild, mask, 0);
+    }
+
+    /** Same, writing ActionIds.MASK_WORDS longs into mask starting at offset. */
+    public void getExecutableActionMask(GameState state, Player p, boolean mustBuild,
+                                        long[] mask, int offset) {
+        BitBoard bits = state.getBoard().getBitBoard();
+        PiecePool pieces = p.getPieces();
+        for (int w = 0; w < ActionIds.MASK_WORDS; w++) {
+            mask[offset + w] = 0L;
+        }
+        boolean any = false;
+
+        if (pieces.hasRoad() && p.canAfford(Cost.roadCost())) {
+            long lo = bits.getRoadSpotsLo(p);
+            long hi = bits.getRoadSpotsHi(p);
+            setBits(mask, offset, ActionIds.ROAD_BASE, lo);
+            setBits(mask, offset, ActionIds.ROAD_BASE + 64, hi);
+            any = (lo | hi) != 0;
         }
+        if (pieces.hasSettlement() && p.canAfford(Cost.settlementCost())) {
+            long spots = bits.getSettlementSpots(p);
+            setBits(mask, offset, ActionIds.SETTLEMENT_BASE, spots);
+            any |= spots != 0;
+        }
+        if (pieces.hasCity() && p.canAfford(Cost.cityCost())) {
+            long spots = bits.getSettlements(p);
+            setBits(mask, offset, ActionIds.CITY_BASE, spots);
+            any |= spots != 0;
+        }
+        if (!mustBuild || !any) {
+            mask[offset + (ActionIds.PASS >>> 6)] |= 1L << (ActionIds.PASS & 63);
+        }
+    }
+
+    // ORs bits into the mask words at base, starting at bit index, carrying into the next word
+    private static void setBits(long[] mask, int base, int index, long bits) {
+        if (bits == 0) return;
+        int word = base + (index >>> 6);
+        int shift = index & 63;
+        mask[word] |= bits << shift;
+        if (shift != 0) {
+            long carry = bits >>> (64 - shift);
+            if (carry != 0) mask[word + 1] |= carry;
+        }
+    }
+
+    /** Clears out and fills it with p's legal actions. */
+    public void getExecutableActions(GameState state, Player p, boolean mustBuild, List<Action> out) {
+        out.clear();
+        ActionSpace space = state.getBoard().getActionSpace();
+        int count = getExecutableActionIds(state, p, mustBuild, ids);
+        for (int i = 0; i < count; i++) {
+            out.add(space.get(ids[i]));
+        }
+    }
 
+    public List<Action> getExecutableActions(GameState state, Player p, boolean mustBuild) {
+        List<Action> actions = new ArrayList<>();
+        getExecutableActions(state, p, mustBuild, actions);
         return actions;
     }
 }
@@ -0,0 +1,44 @@
+package catan;
+
+import java.util.List;
+
+/**
+ * Fixed integer ids for every action on the standard board:
+ * 72 roads (by edge id), 54 settlements and 54 cities (by node id), then pass.
+ */
+public final class ActionIds {
+    public static final int ROAD_BASE = 0;
+    public static final int SETTLEMENT_BASE = ROAD_BASE + BitBoard.EDGE_COUNT;
+    public static final int CITY_BASE = SETTLEMENT_BASE + BitBoard.NODE_COUNT;
+    public static final int PASS = CITY_BASE + BitBoard.NODE_COUNT;
+    public static final int COUNT = PASS + 1;
+    // Longs needed for a bitset over every id (bit id of word id / 64)
+    public static final int MASK_WORDS = (COUNT + 63) / 64;
+
+    private ActionIds() {
+    }
+
+    public static int idOf(Action action) {
+        if (action instanceof BuildRoadAction) {
+            return ROAD_BASE + ((BuildRoadAction) action).getTarget().getId();
+        }
+        if (action instanceof BuildSettlementAction) {
+            return SETTLEMENT_BASE + ((BuildSettlementAction) action).getTarget().getId();
+        }
+        if (action instanceof UpgradeToCityAction) {
+            return CITY_BASE + ((UpgradeToCityAction) action).getTarget().getId();
+        }
+        if (action instanceof PassAction) {
+            return PASS;
+        }
+        throw new IllegalArgumentException("No id for " + action.getClass().getSimpleName());
+    }
+
+    /** The action in options with the given id, or null if there isn't one. */
+    public static Action find(List<Action> options, int id) {
+        for (Action a : options) {
+            if (idOf(a) == id) return a;
+        }
+        return null;
+    }
+}
@@ -1,55 +1,135 @@
 package catan;
 
+/**
+ * Turns what happens in a game into GameEvents for an EventSink. Every method only fills
+ * in primitive fields of one reused event; text is built by the sink, if at all. With no
+ * sink attached the logger is disabled and each call is a single null check.
+ */
 public class ActionLogger {
+    private EventSink sink;
+    private final GameEvent event = new GameEvent();
+
+    public ActionLogger() {
+        this(true);
+    }
+
+    // A disabled logger drops everything, which is what headless games use
+    public ActionLogger(boolean enabled) {
+        this(enabled ? new ConsoleEventSink() : null);
+    }
+
+    public ActionLogger(EventSink sink) {
+        this.sink = sink;
+    }
+
+    public boolean isEnabled() { return sink != null; }
+
+    /** Sends later events to sink instead, or drops them if it is null. */
+    public void setSink(EventSink sink) { this.sink = sink; }
 
     public void logBoardSetup(Board board) {
-        System.out.println("=== BOARD SETUP ===");
+        if (sink == null) return;
+        message("=== BOARD SETUP ===");
         for (Tile tile : board.getTiles()) {
-            String tokenStr = tile.getTerrain() == TerrainType.DESERT
-                ? "no token" : "token " + tile.getToken();
-            System.out.println("  Tile " + tile.getId() + ": " + tile.getTerrain()
-                + " (" + tokenStr + ")");
+            TerrainType terrain = board.getTerrain(tile);
+            String tokenStr = terrain == TerrainType.DESERT
+                ? "no token" : "token " + board.getToken(tile);
+            message("  Tile " + tile.getId() + ": " + terrain + " (" + tokenStr + ")");
         }
-        System.out.println("===================");
-        System.out.println();
+        message("===================");
+        message("");
+    }
+
+    public void logSetupSettlement(int playerId, Node node, Board board) {
+        if (sink == null) return;
+        event.reset(GameEvent.Type.SETUP_SETTLEMENT, 0, playerId).node = node;
+        event.board = board;
+        sink.onEvent(event);
     }
 
-    public void logSetupPlacement(int playerId, String description) {
-        System.out.println("Setup / " + playerId + ": " + description);
+    public void logSetupRoad(int playerId, Edge edge) {
+        if (sink == null) return;
+        event.reset(GameEvent.Type.SETUP_ROAD, 0, playerId).edge = edge;
+        sink.onEvent(event);
+    }
+
+    /** Starting cards received, counted by ResourceType ordinal. */
+    public void logStartingResources(int playerId, int[] received) {
+        if (sink == null) return;
+        event.reset(GameEvent.Type.SETUP_RESOURCES, 0, playerId);
+        System.arraycopy(received, 0, event.hand, 0, event.hand.length);
+        sink.onEvent(event);
     }
 
     public void logDiceRoll(int round, int playerId, int roll) {
-        System.out.println(round + " / " + playerId + ": rolls a " + roll);
+        if (sink == null) return;
+        event.reset(GameEvent.Type.ROLL, round, playerId).amount = roll;
+        sink.onEvent(event);
     }
 
     public void logResourceGain(int round, int playerId, ResourceType type, int amount) {
-        System.out.println(round + " / " + playerId + ": receives " + amount + " " + type);
+        if (sink == null) return;
+        event.reset(GameEvent.Type.PRODUCTION, round, playerId).amount = amount;
+        event.resource = type;
+        sink.onEvent(event);
     }
 
     public void logNoProduction(int round, int playerId) {
-        System.out.println(round + " / " + playerId + ": no resources produced (rolled 7)");
+        if (sink == null) return;
+        sink.onEvent(event.reset(GameEvent.Type.NO_PRODUCTION, round, playerId));
     }
 
-    public void logAction(int round, int playerId, String description) {
-        System.out.println(round + " / " + playerId + ": " + description);
+    /** A build (or other action) just executed by p on board, with p's hand as it is now. */
+    public void logBuild(int round, Player p, Action action, Board board) {
+        if (sink == null) return;
+        event.reset(GameEvent.Type.BUILD, round, p.getId()).action = action;
+        event.board = board;
+        for (ResourceType r : ResourceType.values()) {
+            event.hand[r.ordinal()] = p.getHand().get(r);
+        }
+        sink.onEvent(event);
     }
 
     public void logDiscard(int round, int playerId, int discarded) {
-        System.out.println(round + " / " + playerId + ": discards " + discarded + " cards (over 7)");
+        if (sink == null) return;
+        event.reset(GameEvent.Type.DISCARD, round, playerId).amount = discarded;
+        sink.onEvent(event);
+    }
+
+    /** Longest road moved from previous to holder (either may be null), at the given length. */
+    public void logLongestRoad(int round, Player previous, Player holder, int length) {
+        if (sink == null) return;
+        event.reset(GameEvent.Type.LONGEST_ROAD, round, holder == null ? -1 : holder.getId());
+        event.previousPlayer = previous == null ? -1 : previous.getId();
+        event.amount = length;
+        sink.onEvent(event);
     }
 
     public void logEndOfRound(int round, Player[] players) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(round).append(" / VP: ");
-        for (int i = 0; i < players.length; i++) {
-            if (i > 0) sb.append(", ");
-            sb.append(players[i].getId()).append("=").append(players[i].getVP());
+        if (sink == null) return;
+        event.reset(GameEvent.Type.ROUND_END, round, -1);
+        int count = Math.min(players.length, event.vp.length);
+        for (int i = 0; i < count; i++) {
+            event.playerIds[i] = players[i].getId();
+            event.vp[i] = players[i].getVP();
         }
-        System.out.println(sb.toString());
+        event.playerCount = count;
+        sink.onEvent(event);
     }
 
     public void logSectionHeader(String title) {
-        System.out.println();
-        System.out.println("=== " + title + " ===");
+        if (sink == null) return;
+        message("");
+        message("=== " + title + " ===");
+    }
+
+    public void logBlankLine() {
+        if (sink == null) return;
+        message("");
+    }
+
+    private void message(String text) {
+        event.reset(GameEvent.Type.MESSAGE, 0, -1).text = text;
+        sink.onEvent(event);
     }
 }
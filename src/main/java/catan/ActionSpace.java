@@ -0,0 +1,26 @@
+package catan;
+
+/**
+ * One shared Action object per ActionIds id for a board topology. Actions only hold
+ * their target, so the same instance can be executed by any player on any Board of that
+ * topology any number of times; move generation hands these out instead of allocating
+ * new ones.
+ */
+public final class ActionSpace {
+    private final Action[] actions = new Action[ActionIds.COUNT];
+
+    ActionSpace(BoardTopology topology) {
+        for (Edge e : topology.getEdges()) {
+            actions[ActionIds.ROAD_BASE + e.getId()] = new BuildRoadAction(e);
+        }
+        for (Node n : topology.getNodes()) {
+            actions[ActionIds.SETTLEMENT_BASE + n.getId()] = new BuildSettlementAction(n);
+            actions[ActionIds.CITY_BASE + n.getId()] = new UpgradeToCityAction(n);
+        }
+        actions[ActionIds.PASS] = new PassAction();
+    }
+
+    public Action get(int id) {
+        return actions[id];
+    }
+}
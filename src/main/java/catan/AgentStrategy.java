@@ -4,4 +4,12 @@ import java.util.List;
 
 public interface AgentStrategy {
     Action select(List<Action> options);
+
+    /**
+     * Same choice, but with the game in view for strategies that look at the board or
+     * search ahead. The state must be left exactly as it was found.
+     */
+    default Action select(List<Action> options, GameState state, Player self) {
+        return select(options);
+    }
 }
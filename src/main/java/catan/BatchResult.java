@@ -0,0 +1,97 @@
+package catan;
+
+/**
+ * Aggregate results over a batch of headless games.
+ * Results from separate workers are combined with merge().
+ */
+public class BatchResult {
+    private final int maxRounds;
+    private final long[] winsPerSeat;
+    private final long[] lengthCounts; // index = rounds played
+    private long games;
+    private long noWinner;
+
+    public BatchResult(int seats, int maxRounds) {
+        this.maxRounds = maxRounds;
+        this.winsPerSeat = new long[seats];
+        this.lengthCounts = new long[maxRounds + 1];
+    }
+
+    public void record(Game game) {
+        games++;
+        lengthCounts[game.getCurrentRound()]++;
+        Player winner = game.getWinner();
+        if (winner == null) {
+            noWinner++;
+            return;
+        }
+        Player[] players = game.getPlayers();
+        for (int seat = 0; seat < players.length; seat++) {
+            if (players[seat] == winner) {
+                winsPerSeat[seat]++;
+                break;
+            }
+        }
+    }
+
+    public void merge(BatchResult other) {
+        games += other.games;
+        noWinner += other.noWinner;
+        for (int i = 0; i < winsPerSeat.length; i++) {
+            winsPerSeat[i] += other.winsPerSeat[i];
+        }
+        for (int i = 0; i < lengthCounts.length; i++) {
+            lengthCounts[i] += other.lengthCounts[i];
+        }
+    }
+
+    public long getGames() { return games; }
+    public long getNoWinner() { return noWinner; }
+    public long getWins(int seat) { return winsPerSeat[seat]; }
+    public long getGamesOfLength(int rounds) { return lengthCounts[rounds]; }
+
+    public double winRate(int seat) {
+        return games == 0 ? 0.0 : (double) winsPerSeat[seat] / games;
+    }
+
+    public double noWinnerRate() {
+        return games == 0 ? 0.0 : (double) noWinner / games;
+    }
+
+    public double meanLength() {
+        if (games == 0) return 0.0;
+        long total = 0;
+        for (int r = 0; r < lengthCounts.length; r++) {
+            total += (long) r * lengthCounts[r];
+        }
+        return (double) total / games;
+    }
+
+    /**
+     * Smallest round count such that at least the given fraction of games ended by then.
+     */
+    public int lengthPercentile(double fraction) {
+        long target = (long) Math.ceil(fraction * games);
+        long seen = 0;
+        for (int r = 0; r < lengthCounts.length; r++) {
+            seen += lengthCounts[r];
+            if (seen >= target && seen > 0) return r;
+        }
+        return maxRounds;
+    }
+
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Games played: ").append(games).append('\n');
+        for (int seat = 0; seat < winsPerSeat.length; seat++) {
+            sb.append(String.format("  Seat %d wins: %d (%.2f%%)%n",
+                seat + 1, winsPerSeat[seat], 100.0 * winRate(seat)));
+        }
+        sb.append(String.format("  No winner after %d rounds: %d (%.2f%%)%n",
+            maxRounds, noWinner, 100.0 * noWinnerRate()));
+        sb.append(String.format("  Game length: mean %.1f, p10 %d, median %d, p90 %d, max %d%n",
+            meanLength(), lengthPercentile(0.1), lengthPercentile(0.5),
+            lengthPercentile(0.9), lengthPercentile(1.0)));
+        return sb.toString();
+    }
+}
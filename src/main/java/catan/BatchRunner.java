@@ -0,0 +1,104 @@
+package catan;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays many independent headless games across all cores and aggregates the results.
+ * Each leaf task plays its games on one Game that it resets between seeds, so workers
+ * share nothing except the final merge.
+ */
+public class BatchRunner {
+    // Leaf size for the fork-join split; small enough to balance, big enough to amortize forking
+    private static final int GAMES_PER_TASK = 32;
+
+    private final int maxRounds;
+    private final ForkJoinPool pool;
+    private final long batchSeed;
+
+    public BatchRunner(int maxRounds) {
+        this(maxRounds, ForkJoinPool.commonPool());
+    }
+
+    public BatchRunner(int maxRounds, ForkJoinPool pool) {
+        this(maxRounds, pool, System.nanoTime());
+    }
+
+    /**
+     * Game i of the batch is seeded with GameRandom.gameSeed(batchSeed, i), so a batch
+     * gives the same results for the same seed no matter how many threads run it.
+     */
+    public BatchRunner(int maxRounds, ForkJoinPool pool, long batchSeed) {
+        this.maxRounds = maxRounds;
+        this.pool = pool;
+        this.batchSeed = batchSeed;
+    }
+
+    public BatchResult run(long games) {
+        return pool.invoke(new GamesTask(0, games));
+    }
+
+    private BatchResult playRange(long from, long to) {
+        BatchResult result = new BatchResult(4, maxRounds);
+        Game game = null;
+        for (long i = from; i < to; i++) {
+            long seed = GameRandom.gameSeed(batchSeed, i);
+            // One Game per task, reset for each seed instead of rebuilt
+            if (game == null) {
+                game = new Game(maxRounds, true, seed);
+            } else {
+                game.reset(seed);
+            }
+            game.run();
+            result.record(game);
+        }
+        return result;
+    }
+
+    private class GamesTask extends RecursiveTask<BatchResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+
+        GamesTask(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected BatchResult compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                return playRange(from, to);
+            }
+            long mid = (from + to) >>> 1;
+            GamesTask left = new GamesTask(from, mid);
+            left.fork();
+            BatchResult result = new GamesTask(mid, to).compute();
+            result.merge(left.join());
+            return result;
+        }
+    }
+
+    // Usage: BatchRunner <games> [maxRounds] [threads] [seed]
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 10000;
+        int maxRounds = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int threads = args.length > 2 ? Integer.parseInt(args[2])
+            : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        if (maxRounds < 1 || maxRounds > 8192) {
+            throw new IllegalArgumentException("maxRounds must be between 1 and 8192");
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        BatchResult result = new BatchRunner(maxRounds, pool, seed).run(games);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+
+        System.out.print(result.summary());
+        System.out.printf("  seed %d, %d threads, %.1f s, %.0f games/s%n",
+            seed, threads, seconds, result.getGames() / seconds);
+    }
+}
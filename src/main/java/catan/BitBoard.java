@@ -0,0 +1,252 @@
+package catan;
+
+/**
+ * Compact occupancy for a Board: one long covers the 54 nodes, and the 72 edges are
+ * split over a low long (ids 0-63) and a high long (ids 64-71). Node and Edge push
+ * every building/road change in here, so it always agrees with the object graph, and
+ * the placement rules become a handful of AND/OR operations on precomputed masks.
+ *
+ * Legal placement spots are kept per seat as masks too. A change at a node or edge can
+ * only affect spots next to it, so each update re-checks just those few nodes and edges
+ * (for every seat) instead of the whole board. Removals (undo) go through the same path.
+ */
+public class BitBoard {
+    public static final int NODE_COUNT = 54;
+    public static final int EDGE_COUNT = 72;
+    private static final int MAX_SEATS = 8;
+
+    // Topology tables, shared with every other board of the same shape
+    private final BoardTopology topology;
+    private final long[] nodeNeighbors;
+    private final long[] nodeEdgesLo;
+    private final long[] nodeEdgesHi;
+    private final int[] edgeNodeA;
+    private final int[] edgeNodeB;
+
+    // Occupancy per seat; seats are handed out to players in the order they first build
+    private final Player[] seats = new Player[MAX_SEATS];
+    private int seatCount;
+    private final long[] buildings = new long[MAX_SEATS];
+    private final long[] settlements = new long[MAX_SEATS];
+    private final long[] cities = new long[MAX_SEATS];
+    private final long[] roadsLo = new long[MAX_SEATS];
+    private final long[] roadsHi = new long[MAX_SEATS];
+    private long occupiedNodes;
+    private int buildingVersion;
+    private long occupiedEdgesLo;
+    private long occupiedEdgesHi;
+    private ZobristHash hash;
+
+    // Legal spots per seat, refreshed locally on every change
+    private final long[] settlementSpots = new long[MAX_SEATS];
+    private final long[] roadSpotsLo = new long[MAX_SEATS];
+    private final long[] roadSpotsHi = new long[MAX_SEATS];
+
+    public BitBoard(BoardTopology topology) {
+        this.topology = topology;
+        this.nodeNeighbors = topology.neighborMasks();
+        this.nodeEdgesLo = topology.edgeMasksLo();
+        this.nodeEdgesHi = topology.edgeMasksHi();
+        this.edgeNodeA = topology.edgeNodesA();
+        this.edgeNodeB = topology.edgeNodesB();
+    }
+
+    public BoardTopology getTopology() { return topology; }
+
+    // --- updates, called from Node.setBuilding and Edge.setRoad ---
+
+    void setHash(ZobristHash hash) { this.hash = hash; }
+    boolean hasHash() { return hash != null; }
+
+    void buildingChanged(int node, Building previous, Building current) {
+        long bit = 1L << node;
+        buildingVersion++;
+        if (hash != null) hash.buildingChanged(node, previous, current);
+        if (previous != null) {
+            int seat = seatOf(previous.getOwner());
+            buildings[seat] &= ~bit;
+            settlements[seat] &= ~bit;
+            cities[seat] &= ~bit;
+            occupiedNodes &= ~bit;
+        }
+        if (current != null) {
+            int seat = seatOf(current.getOwner());
+            buildings[seat] |= bit;
+            if (current instanceof City) {
+                cities[seat] |= bit;
+            } else if (current instanceof Settlement) {
+                settlements[seat] |= bit;
+            }
+            occupiedNodes |= bit;
+        }
+        // Distance rule reaches the neighbors; road connections through the node may open or close
+        refreshSettlementSpots(bit | nodeNeighbors[node]);
+        refreshRoadSpots(nodeEdgesLo[node], nodeEdgesHi[node]);
+    }
+
+    void roadChanged(int edge, Road previous, Road current) {
+        if (hash != null) hash.roadChanged(edge, previous, current);
+        if (previous != null) {
+            int seat = seatOf(previous.getOwner());
+            if (edge < 64) {
+                roadsLo[seat] &= ~(1L << edge);
+                occupiedEdgesLo &= ~(1L << edge);
+            } else {
+                roadsHi[seat] &= ~(1L << (edge - 64));
+                occupiedEdgesHi &= ~(1L << (edge - 64));
+            }
+        }
+        if (current != null) {
+            int seat = seatOf(current.getOwner());
+            if (edge < 64) {
+                roadsLo[seat] |= 1L << edge;
+                occupiedEdgesLo |= 1L << edge;
+            } else {
+                roadsHi[seat] |= 1L << (edge - 64);
+                occupiedEdgesHi |= 1L << (edge - 64);
+            }
+        }
+        int a = edgeNodeA[edge];
+        int b = edgeNodeB[edge];
+        refreshSettlementSpots((1L << a) | (1L << b));
+        refreshRoadSpots(nodeEdgesLo[a] | nodeEdgesLo[b], nodeEdgesHi[a] | nodeEdgesHi[b]);
+    }
+
+    private void refreshSettlementSpots(long nodes) {
+        for (int seat = 0; seat < seatCount; seat++) {
+            long spots = settlementSpots[seat] & ~nodes;
+            for (long m = nodes; m != 0; m &= m - 1) {
+                int node = Long.numberOfTrailingZeros(m);
+                if (settlementSpot(seat, node)) spots |= 1L << node;
+            }
+            settlementSpots[seat] = spots;
+        }
+    }
+
+    private void refreshRoadSpots(long edgesLo, long edgesHi) {
+        for (int seat = 0; seat < seatCount; seat++) {
+            long lo = roadSpotsLo[seat] & ~edgesLo;
+            long hi = roadSpotsHi[seat] & ~edgesHi;
+            for (long m = edgesLo; m != 0; m &= m - 1) {
+                int edge = Long.numberOfTrailingZeros(m);
+                if (roadSpot(seat, edge)) lo |= 1L << edge;
+            }
+            for (long m = edgesHi; m != 0; m &= m - 1) {
+                int edge = 64 + Long.numberOfTrailingZeros(m);
+                if (roadSpot(seat, edge)) hi |= 1L << (edge - 64);
+            }
+            roadSpotsLo[seat] = lo;
+            roadSpotsHi[seat] = hi;
+        }
+    }
+
+    private int seatOf(Player p) {
+        int seat = findSeat(p);
+        if (seat >= 0) return seat;
+        if (seatCount == MAX_SEATS) {
+            throw new IllegalStateException("BitBoard supports at most " + MAX_SEATS + " players");
+        }
+        seats[seatCount] = p;
+        return seatCount++;
+    }
+
+    private int findSeat(Player p) {
+        for (int i = 0; i < seatCount; i++) {
+            if (seats[i] == p) return i;
+        }
+        return -1;
+    }
+
+    // --- queries ---
+
+    public boolean isNodeOccupied(int node) {
+        return (occupiedNodes & (1L << node)) != 0;
+    }
+
+    public boolean isEdgeOccupied(int edge) {
+        return edge < 64
+            ? (occupiedEdgesLo & (1L << edge)) != 0
+            : (occupiedEdgesHi & (1L << (edge - 64))) != 0;
+    }
+
+    public long getOccupiedNodes() { return occupiedNodes; }
+    public long getOccupiedEdgesLo() { return occupiedEdgesLo; }
+    public long getOccupiedEdgesHi() { return occupiedEdgesHi; }
+
+    // Bumped on every settlement/city change so callers can tell when cached payouts are stale
+    public int getBuildingVersion() { return buildingVersion; }
+
+    public long getSettlements(Player p) {
+        int seat = findSeat(p);
+        return seat < 0 ? 0L : settlements[seat];
+    }
+
+    public long getCities(Player p) {
+        int seat = findSeat(p);
+        return seat < 0 ? 0L : cities[seat];
+    }
+
+    public long getRoadsLo(Player p) {
+        int seat = findSeat(p);
+        return seat < 0 ? 0L : roadsLo[seat];
+    }
+
+    public long getRoadsHi(Player p) {
+        int seat = findSeat(p);
+        return seat < 0 ? 0L : roadsHi[seat];
+    }
+
+    public long getNeighborMask(int node) { return nodeNeighbors[node]; }
+
+    /** Free node, no building on any neighbor, and one of the player's roads touches it. */
+    public boolean isSettlementSpot(Player p, int node) {
+        return (getSettlementSpots(p) & (1L << node)) != 0;
+    }
+
+    /** Free edge with one end either holding the player's building or open and touching the player's road. */
+    public boolean isRoadSpot(Player p, int edge) {
+        return edge < 64
+            ? (getRoadSpotsLo(p) & (1L << edge)) != 0
+            : (getRoadSpotsHi(p) & (1L << (edge - 64))) != 0;
+    }
+
+    public long getSettlementSpots(Player p) {
+        int seat = findSeat(p);
+        return seat < 0 ? 0L : settlementSpots[seat];
+    }
+
+    public long getRoadSpotsLo(Player p) {
+        int seat = findSeat(p);
+        return seat < 0 ? 0L : roadSpotsLo[seat];
+    }
+
+    public long getRoadSpotsHi(Player p) {
+        int seat = findSeat(p);
+        return seat < 0 ? 0L : roadSpotsHi[seat];
+    }
+
+    // The rules themselves, used when refreshing the spot masks
+
+    private boolean settlementSpot(int seat, int node) {
+        // Distance rule: the node and all its neighbors must be empty
+        if ((occupiedNodes & ((1L << node) | nodeNeighbors[node])) != 0) return false;
+        return (nodeEdgesLo[node] & roadsLo[seat]) != 0 || (nodeEdgesHi[node] & roadsHi[seat]) != 0;
+    }
+
+    private boolean roadSpot(int seat, int edge) {
+        if (isEdgeOccupied(edge)) return false;
+        return connects(seat, edgeNodeA[edge]) || connects(seat, edgeNodeB[edge]);
+    }
+
+    private boolean connects(int seat, int node) {
+        long bit = 1L << node;
+        if ((buildings[seat] & bit) != 0) return true;
+        // An opponent's building blocks road extension through this node
+        if ((occupiedNodes & bit) != 0) return false;
+        return (nodeEdgesLo[node] & roadsLo[seat]) != 0 || (nodeEdgesHi[node] & roadsHi[seat]) != 0;
+    }
+
+    public boolean isCitySpot(Player p, int node) {
+        return (getSettlements(p) & (1L << node)) != 0;
+    }
+}
@@ -2,61 +2,110 @@ package catan;
 
 import java.util.List;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
 
+/**
+ * One game's board: terrain and tokens per tile and the building or road on each node
+ * and edge, on top of a shared BoardTopology. Node, Edge and Tile objects (and the
+ * ActionSpace) come from the topology and are the same for every Board of that shape,
+ * so a Board only allocates its occupancy and terrain arrays and its BitBoard.
+ *
+ * Every building and road change goes through setBuilding/setRoad, which keep the
+ * BitBoard (and any hash attached to it) in step.
+ */
 public class Board {
-    private final Tile[] tiles;
-    private final Node[] nodes;
-    private final Map<String, Edge> edgeMap;
-    private final List<Edge> allEdges;
-    private final BoardLayout layout;
+    private final BoardTopology topology;
+    private BoardLayout layout;
+    private final BitBoard bits;
+    private final Building[] buildings;
+    private final Road[] roads;
+    private final TerrainType[] terrain;  // by tile id
+    private final int[] tokens;           // by tile id
 
     public Board(BoardLayout layout) {
         this.layout = layout;
-        this.nodes = new Node[54];
-        this.tiles = new Tile[19];
-        this.edgeMap = new HashMap<>();
-        this.allEdges = new ArrayList<>();
-
-        // Create nodes
-        for (NodeSpec ns : layout.getNodeDefinitions()) {
-            nodes[ns.getId()] = new Node(ns.getId());
-        }
+        this.topology = layout.getTopology();
+        this.bits = new BitBoard(topology);
+        this.buildings = new Building[topology.getNodeCount()];
+        this.roads = new Road[topology.getEdgeCount()];
+        this.terrain = new TerrainType[topology.getTileCount()];
+        this.tokens = new int[topology.getTileCount()];
+        deal(layout);
+    }
 
-        // Create tiles and link to corner nodes
-        for (TileSpec ts : layout.getTileDefinitions()) {
-            Tile tile = new Tile(ts.getId(), ts.getTerrain(), ts.getToken());
-            tiles[ts.getId()] = tile;
-            for (int nodeId : ts.getCornerNodeIds()) {
-                Node node = nodes[nodeId];
-                tile.addCornerNode(node);
-                node.addAdjacentTile(tile);
-            }
+    /**
+     * Empties the board and deals the terrain and tokens of another layout with the same
+     * topology, for reusing a Board in a new game. Every piece is removed through
+     * setBuilding/setRoad, so the BitBoard and any attached hash follow along.
+     */
+    public void reset(BoardLayout newLayout) {
+        if (newLayout.getTopology() != topology) {
+            throw new IllegalArgumentException("Can only reset to a layout with the same topology");
+        }
+        for (Edge e : topology.getEdges()) {
+            if (isOccupied(e)) setRoad(e, null);
         }
+        for (Node n : topology.getNodes()) {
+            if (isOccupied(n)) setBuilding(n, null);
+        }
+        deal(newLayout);
+        this.layout = newLayout;
+    }
 
-        // Create edges and link to nodes
-        for (EdgeSpec es : layout.getEdgeDefinitions()) {
-            Node a = nodes[es.getNodeA()];
-            Node b = nodes[es.getNodeB()];
-            Edge edge = new Edge(a, b);
-            String key = edgeKey(es.getNodeA(), es.getNodeB());
-            edgeMap.put(key, edge);
-            allEdges.add(edge);
-            a.addIncidentEdge(edge);
-            b.addIncidentEdge(edge);
+    private void deal(BoardLayout from) {
+        for (TileSpec ts : from.getTileDefinitions()) {
+            terrain[ts.getId()] = ts.getTerrain();
+            tokens[ts.getId()] = ts.getToken();
         }
     }
 
-    private String edgeKey(int a, int b) {
-        return Math.min(a, b) + "-" + Math.max(a, b);
+    // --- occupancy ---
+
+    public Building getBuilding(Node n) { return buildings[n.getId()]; }
+
+    public void setBuilding(Node n, Building building) {
+        int id = n.getId();
+        bits.buildingChanged(id, buildings[id], building);
+        buildings[id] = building;
+    }
+
+    public boolean isOccupied(Node n) { return buildings[n.getId()] != null; }
+
+    public Player getOwner(Node n) {
+        Building b = buildings[n.getId()];
+        return b != null ? b.getOwner() : null;
+    }
+
+    public Road getRoad(Edge e) { return roads[e.getId()]; }
+
+    public void setRoad(Edge e, Road road) {
+        int id = e.getId();
+        bits.roadChanged(id, roads[id], road);
+        roads[id] = road;
+    }
+
+    public boolean isOccupied(Edge e) { return roads[e.getId()] != null; }
+
+    // --- terrain ---
+
+    public TerrainType getTerrain(Tile t) { return terrain[t.getId()]; }
+    public int getToken(Tile t) { return tokens[t.getId()]; }
+
+    /** What the tile produces, or null for the desert. */
+    public ResourceType getProducedResource(Tile t) { return terrain[t.getId()].getResource(); }
+
+    public boolean producesOn(Tile t, int roll) {
+        return terrain[t.getId()] != TerrainType.DESERT && tokens[t.getId()] == roll;
     }
 
-    public Tile getTile(int id) { return tiles[id]; }
-    public Node getNode(int id) { return nodes[id]; }
+    // --- shape, shared with every board of the same topology ---
+
+    public Tile getTile(int id) { return topology.getTiles().get(id); }
+    public Node getNode(int id) { return topology.getNodes().get(id); }
 
+    // Looked up through the topology's node-pair table, so this never allocates
     public Edge getEdge(int a, int b) {
-        return edgeMap.get(edgeKey(a, b));
+        int id = topology.getEdgeId(a, b);
+        return id < 0 ? null : topology.getEdges().get(id);
     }
 
     public List<Node> getNodesOfTile(Tile t) {
@@ -75,7 +124,15 @@ public class Board {
         return neighbors;
     }
 
-    public Tile[] getTiles() { return tiles; }
-    public Node[] getNodes() { return nodes; }
-    public List<Edge> getAllEdges() { return allEdges; }
+    /** Tiles by id, unmodifiable. */
+    public List<Tile> getTiles() { return topology.getTiles(); }
+    /** Nodes by id, unmodifiable. */
+    public List<Node> getNodes() { return topology.getNodes(); }
+    /** Edges by id, unmodifiable. */
+    public List<Edge> getAllEdges() { return topology.getEdges(); }
+    public Edge getEdge(int id) { return topology.getEdges().get(id); }
+    public BitBoard getBitBoard() { return bits; }
+    public BoardTopology getTopology() { return topology; }
+    public ActionSpace getActionSpace() { return topology.getActionSpace(); }
+    public BoardLayout getLayout() { return layout; }
 }
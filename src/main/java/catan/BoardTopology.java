@@ -0,0 +1,292 @@
+package catan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The fixed shape of a board: which nodes are corners of which tile, which nodes each
+ * edge joins, and the derived node-to-edge, node-to-tile and neighbor tables, all as
+ * primitive arrays. The Node, Edge and Tile objects and the ActionSpace are built once
+ * here too, as read-only views of the same tables. None of it changes once built, so
+ * every game on the standard board shares STANDARD (across threads too), and a Board
+ * only adds terrain, tokens and occupancy on top.
+ *
+ * Edge ids follow the order edges are first met walking each tile's corners clockwise,
+ * tile by tile in layout order; ActionIds depend on this order.
+ */
+public final class BoardTopology {
+    /** Most edges or tiles any node touches. */
+    public static final int MAX_DEGREE = 3;
+
+    // Standard board: 19 tiles in rows of 3-4-5-4-3, 54 nodes, 72 edges.
+    // Corner nodes per tile position (row by row), clockwise from top-left.
+    private static final int[][] STANDARD_CORNERS = {
+        // Row 0 (top 3 tiles)
+        {0, 4, 8, 12, 7, 3},
+        {1, 5, 9, 13, 8, 4},
+        {2, 6, 10, 14, 9, 5},
+        // Row 1 (4 tiles)
+        {7, 12, 17, 22, 16, 11},
+        {8, 13, 18, 23, 17, 12},
+        {9, 14, 19, 24, 18, 13},
+        {10, 15, 20, 25, 19, 14},
+        // Row 2 (middle 5 tiles)
+        {16, 22, 28, 33, 27, 21},
+        {17, 23, 29, 34, 28, 22},
+        {18, 24, 30, 35, 29, 23},
+        {19, 25, 31, 36, 30, 24},
+        {20, 26, 32, 37, 31, 25},
+        // Row 3 (4 tiles)
+        {28, 34, 39, 43, 38, 33},
+        {29, 35, 40, 44, 39, 34},
+        {30, 36, 41, 45, 40, 35},
+        {31, 37, 42, 46, 41, 36},
+        // Row 4 (bottom 3 tiles)
+        {39, 44, 48, 51, 47, 43},
+        {40, 45, 49, 52, 48, 44},
+        {41, 46, 50, 53, 49, 45},
+    };
+
+    // Spiral tile IDs per spec diagram (page 2), by the same positions:
+    // center=0, inner ring 1-6 (counterclockwise from SE),
+    // outer ring 7-18 (counterclockwise from bottom-right)
+    private static final int[] STANDARD_TILE_IDS = {
+        17, 14, 15,          // Row 0: top 3 tiles
+        12,  4,  5, 16,     // Row 1: 4 tiles
+        11,  3,  0,  6, 10, // Row 2: middle 5 tiles (center=0)
+        13,  2,  1, 18,     // Row 3: 4 tiles
+         9,  8,  7          // Row 4: bottom 3 tiles
+    };
+
+    public static final BoardTopology STANDARD =
+        new BoardTopology(STANDARD_TILE_IDS, STANDARD_CORNERS, null, null);
+
+    private final int nodeCount;
+    private final int[] tileIds;          // by position
+    private final int[][] tileCorners;    // by position
+    private final int[] edgeNodeA;
+    private final int[] edgeNodeB;
+    private final int[] nodeEdges;        // node * MAX_DEGREE + k, -1 when unused
+    private final int[] nodeTiles;        // node * MAX_DEGREE + k, -1 when unused
+    private final int[] edgeIds;          // a * nodeCount + b, both orders, -1 if not adjacent
+    private final long[] nodeNeighbors;
+    private final long[] nodeEdgesLo;
+    private final long[] nodeEdgesHi;
+    private final List<EdgeSpec> edgeSpecs;
+    private final List<Node> nodes;
+    private final List<Edge> edges;
+    private final List<Tile> tiles;       // by tile id
+    private final ActionSpace actionSpace;
+
+    /**
+     * Builds the tables from tiles and, optionally, explicit edges (a and b, same length).
+     * With null edges they're derived from consecutive tile corners.
+     */
+    private BoardTopology(int[] tileIds, int[][] tileCorners, int[] edgeA, int[] edgeB) {
+        this.tileIds = tileIds.clone();
+        this.tileCorners = new int[tileCorners.length][];
+        int maxNode = -1;
+        for (int t = 0; t < tileCorners.length; t++) {
+            this.tileCorners[t] = tileCorners[t].clone();
+            for (int n : tileCorners[t]) maxNode = Math.max(maxNode, n);
+        }
+        if (edgeA == null) {
+            int[][] derived = deriveEdges(this.tileCorners, maxNode + 1);
+            edgeA = derived[0];
+            edgeB = derived[1];
+        }
+        for (int e = 0; e < edgeA.length; e++) {
+            maxNode = Math.max(maxNode, Math.max(edgeA[e], edgeB[e]));
+        }
+        this.nodeCount = maxNode + 1;
+        if (nodeCount > BitBoard.NODE_COUNT || edgeA.length > BitBoard.EDGE_COUNT) {
+            throw new IllegalArgumentException("Board is larger than " + BitBoard.NODE_COUNT
+                + " nodes / " + BitBoard.EDGE_COUNT + " edges");
+        }
+        this.edgeNodeA = edgeA.clone();
+        this.edgeNodeB = edgeB.clone();
+
+        this.nodeEdges = filled(nodeCount * MAX_DEGREE);
+        this.nodeTiles = filled(nodeCount * MAX_DEGREE);
+        this.nodeNeighbors = new long[nodeCount];
+        this.nodeEdgesLo = new long[nodeCount];
+        this.nodeEdgesHi = new long[nodeCount];
+        this.edgeIds = filled(nodeCount * nodeCount);
+        List<EdgeSpec> specs = new ArrayList<>();
+        for (int e = 0; e < edgeNodeA.length; e++) {
+            int a = edgeNodeA[e];
+            int b = edgeNodeB[e];
+            append(nodeEdges, a, e);
+            append(nodeEdges, b, e);
+            edgeIds[a * nodeCount + b] = e;
+            edgeIds[b * nodeCount + a] = e;
+            nodeNeighbors[a] |= 1L << b;
+            nodeNeighbors[b] |= 1L << a;
+            if (e < 64) {
+                nodeEdgesLo[a] |= 1L << e;
+                nodeEdgesLo[b] |= 1L << e;
+            } else {
+                nodeEdgesHi[a] |= 1L << (e - 64);
+                nodeEdgesHi[b] |= 1L << (e - 64);
+            }
+            specs.add(new EdgeSpec(a, b));
+        }
+        for (int t = 0; t < this.tileCorners.length; t++) {
+            for (int n : this.tileCorners[t]) {
+                append(nodeTiles, n, this.tileIds[t]);
+            }
+        }
+        this.edgeSpecs = Collections.unmodifiableList(specs);
+
+        this.nodes = createNodes(nodeCount);
+        this.edges = createEdges(nodes, edgeNodeA, edgeNodeB);
+        this.tiles = createTiles(nodes, this.tileIds, this.tileCorners);
+        for (Node n : nodes) {
+            List<Edge> incident = new ArrayList<>(MAX_DEGREE);
+            List<Tile> adjacent = new ArrayList<>(MAX_DEGREE);
+            for (int k = 0; k < MAX_DEGREE; k++) {
+                int e = getNodeEdge(n.getId(), k);
+                if (e >= 0) incident.add(edges.get(e));
+                int t = getNodeTile(n.getId(), k);
+                if (t >= 0) adjacent.add(tiles.get(t));
+            }
+            n.link(Collections.unmodifiableList(incident), Collections.unmodifiableList(adjacent));
+        }
+        this.actionSpace = new ActionSpace(this);
+    }
+
+    /** Topology of a hand-made layout, with its own edges. */
+    public static BoardTopology fromSpecs(List<TileSpec> tiles, List<EdgeSpec> edges) {
+        int[] ids = new int[tiles.size()];
+        int[][] corners = new int[tiles.size()][];
+        for (int t = 0; t < ids.length; t++) {
+            ids[t] = tiles.get(t).getId();
+            corners[t] = tiles.get(t).getCornerNodeIds();
+        }
+        int[] a = new int[edges.size()];
+        int[] b = new int[edges.size()];
+        for (int e = 0; e < a.length; e++) {
+            a[e] = edges.get(e).getNodeA();
+            b[e] = edges.get(e).getNodeB();
+        }
+        return new BoardTopology(ids, corners, a, b);
+    }
+
+    // Each pair of adjacent corners forms an edge; a node-pair table drops the repeats
+    private static int[][] deriveEdges(int[][] tileCorners, int nodes) {
+        boolean[] seen = new boolean[nodes * nodes];
+        int[] a = new int[nodes * MAX_DEGREE];
+        int[] b = new int[nodes * MAX_DEGREE];
+        int count = 0;
+        for (int[] cn : tileCorners) {
+            for (int j = 0; j < cn.length; j++) {
+                int lo = Math.min(cn[j], cn[(j + 1) % cn.length]);
+                int hi = Math.max(cn[j], cn[(j + 1) % cn.length]);
+                if (!seen[lo * nodes + hi]) {
+                    seen[lo * nodes + hi] = true;
+                    a[count] = lo;
+                    b[count] = hi;
+                    count++;
+                }
+            }
+        }
+        return new int[][] {Arrays.copyOf(a, count), Arrays.copyOf(b, count)};
+    }
+
+    private static List<Node> createNodes(int count) {
+        List<Node> list = new ArrayList<>(count);
+        for (int id = 0; id < count; id++) list.add(new Node(id));
+        return Collections.unmodifiableList(list);
+    }
+
+    private static List<Edge> createEdges(List<Node> nodes, int[] a, int[] b) {
+        List<Edge> list = new ArrayList<>(a.length);
+        for (int id = 0; id < a.length; id++) {
+            list.add(new Edge(id, nodes.get(a[id]), nodes.get(b[id])));
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    // Tiles are looked up by id, so the ids have to be 0 to tileCount - 1 in some order
+    private static List<Tile> createTiles(List<Node> nodes, int[] tileIds, int[][] tileCorners) {
+        Tile[] byId = new Tile[tileIds.length];
+        for (int t = 0; t < tileIds.length; t++) {
+            int id = tileIds[t];
+            if (id < 0 || id >= byId.length || byId[id] != null) {
+                throw new IllegalArgumentException("Tile ids must be 0-" + (byId.length - 1)
+                    + " without repeats, got " + id);
+            }
+            Tile tile = new Tile(id);
+            List<Node> corners = new ArrayList<>(tileCorners[t].length);
+            for (int n : tileCorners[t]) corners.add(nodes.get(n));
+            tile.link(Collections.unmodifiableList(corners));
+            byId[id] = tile;
+        }
+        return Collections.unmodifiableList(Arrays.asList(byId));
+    }
+
+    private static int[] filled(int length) {
+        int[] table = new int[length];
+        Arrays.fill(table, -1);
+        return table;
+    }
+
+    private void append(int[] table, int node, int value) {
+        int base = node * MAX_DEGREE;
+        for (int k = 0; k < MAX_DEGREE; k++) {
+            if (table[base + k] == value) return;
+            if (table[base + k] < 0) {
+                table[base + k] = value;
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Node " + node + " touches more than " + MAX_DEGREE);
+    }
+
+    public int getNodeCount() { return nodeCount; }
+    public int getEdgeCount() { return edgeNodeA.length; }
+    public int getTileCount() { return tileIds.length; }
+
+    /** Tile id at a layout position (the order tiles are listed in). */
+    public int getTileId(int position) { return tileIds[position]; }
+
+    /** Corner node ids of the tile at a layout position; shared, so callers must copy. */
+    int[] getTileCorners(int position) { return tileCorners[position]; }
+
+    public int getEdgeNodeA(int edge) { return edgeNodeA[edge]; }
+    public int getEdgeNodeB(int edge) { return edgeNodeB[edge]; }
+
+    /** Id of the edge joining two nodes (either order), or -1 if they aren't adjacent. */
+    public int getEdgeId(int a, int b) {
+        if (a < 0 || b < 0 || a >= nodeCount || b >= nodeCount) return -1;
+        return edgeIds[a * nodeCount + b];
+    }
+
+    /** k-th edge at a node, or -1 past the node's last edge. */
+    public int getNodeEdge(int node, int k) { return nodeEdges[node * MAX_DEGREE + k]; }
+
+    /** k-th tile id at a node, or -1 past the node's last tile. */
+    public int getNodeTile(int node, int k) { return nodeTiles[node * MAX_DEGREE + k]; }
+
+    public long getNeighborMask(int node) { return nodeNeighbors[node]; }
+    public long getNodeEdgesLo(int node) { return nodeEdgesLo[node]; }
+    public long getNodeEdgesHi(int node) { return nodeEdgesHi[node]; }
+
+    // The tables themselves, shared read-only with BitBoard's hot paths
+    long[] neighborMasks() { return nodeNeighbors; }
+    long[] edgeMasksLo() { return nodeEdgesLo; }
+    long[] edgeMasksHi() { return nodeEdgesHi; }
+    int[] edgeNodesA() { return edgeNodeA; }
+    int[] edgeNodesB() { return edgeNodeB; }
+
+    /** The edges as specs, in id order (shared and unmodifiable). */
+    public List<EdgeSpec> getEdgeSpecs() { return edgeSpecs; }
+
+    // Shared views; each list is unmodifiable and indexed by id
+    public List<Node> getNodes() { return nodes; }
+    public List<Edge> getEdges() { return edges; }
+    public List<Tile> getTiles() { return tiles; }
+    public ActionSpace getActionSpace() { return actionSpace; }
+}
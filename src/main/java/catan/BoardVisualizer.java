@@ -7,7 +7,7 @@ import java.util.List;
  * Renders the Catan board as ASCII art in the standard 3-4-5-4-3 hex layout.
  * Shows terrain types, number tokens, and player buildings at key game moments.
  */
-public class BoardVisualizer {
+public class BoardVisualizer implements GameObserver {
 
     // Tile IDs arranged in display rows (3-4-5-4-3 hex grid, spiral per spec)
     private static final int[][] TILE_ROWS = {
@@ -31,7 +31,7 @@ public class BoardVisualizer {
             for (int i = 0; i < indent; i++) sb.append(' ');
             for (int tileId : row) {
                 Tile tile = board.getTile(tileId);
-                sb.append(formatTileCell(tile));
+                sb.append(formatTileCell(board, tile));
             }
             System.out.println(sb.toString());
         }
@@ -42,12 +42,17 @@ public class BoardVisualizer {
         System.out.println();
     }
 
-    private String formatTileCell(Tile tile) {
-        String terrain = terrainAbbrev(tile.getTerrain());
-        if (tile.getTerrain() == TerrainType.DESERT) {
+    @Override
+    public void onBoardSnapshot(Board board, String title) {
+        printBoard(board, title);
+    }
+
+    private String formatTileCell(Board board, Tile tile) {
+        String terrain = terrainAbbrev(board.getTerrain(tile));
+        if (board.getTerrain(tile) == TerrainType.DESERT) {
             return String.format("[ %s    ]", terrain);
         } else {
-            return String.format("[ %s/%-2d ]", terrain, tile.getToken());
+            return String.format("[ %s/%-2d ]", terrain, board.getToken(tile));
         }
     }
 
@@ -72,8 +77,8 @@ public class BoardVisualizer {
         }
 
         for (Node node : board.getNodes()) {
-            if (node != null && node.isOccupied()) {
-                Building b = node.getBuilding();
+            if (node != null && board.isOccupied(node)) {
+                Building b = board.getBuilding(node);
                 int playerId = b.getOwner().getId();
                 String type = (b instanceof City) ? "City" : "Settlement";
                 playerBuildings[playerId - 1].add(type + "@node" + node.getId());
@@ -7,27 +7,14 @@ public class BuildRoadAction implements Action {
         this.target = target;
     }
 
+    public Edge getTarget() { return target; }
+
     @Override
     public boolean isExecutable(GameState state, Player p) {
-        if (target.isOccupied()) return false;
         if (!p.canAfford(Cost.roadCost())) return false;
         if (!p.getPieces().hasRoad()) return false;
-        // Must be adjacent to player's existing road, settlement, or city
-        Node a = target.getA();
-        Node b = target.getB();
-        return playerHasAdjacentStructure(a, p) || playerHasAdjacentStructure(b, p);
-    }
-
-    private boolean playerHasAdjacentStructure(Node node, Player p) {
-        // Player's own building on this node allows connection
-        if (node.isOccupied() && node.getOwner() == p) return true;
-        // An opponent's building on this node blocks road extension through it
-        if (node.isOccupied() && node.getOwner() != p) return false;
-        // Otherwise, check if player has a road on an adjacent edge
-        for (Edge e : node.getIncidentEdges()) {
-            if (e.isOccupied() && e.getRoad().getOwner() == p) return true;
-        }
-        return false;
+        // Free edge adjacent to player's existing road, settlement, or city
+        return state.getBoard().getBitBoard().isRoadSpot(p, target.getId());
     }
 
     @Override
@@ -36,12 +23,20 @@ public class BuildRoadAction implements Action {
         p.pay(cost);
         state.getBank().returnCost(cost);
         p.getPieces().takeRoad();
-        Road road = new Road(p, target);
-        target.setRoad(road);
+        state.getBoard().setRoad(target, p.getRoadPiece());
+    }
+
+    @Override
+    public void undo(GameState state, Player p) {
+        Cost cost = Cost.roadCost();
+        state.getBoard().setRoad(target, null);
+        p.getPieces().returnRoad();
+        state.getBank().takeCost(cost);
+        p.refund(cost);
     }
 
     @Override
-    public String describe() {
+    public String describe(Board board) {
         return "builds a road between node " + target.getA().getId()
             + " and node " + target.getB().getId()
             + " [cost: 1 BRICK, 1 LUMBER]";
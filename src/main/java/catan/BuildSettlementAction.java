@@ -7,25 +7,14 @@ public class BuildSettlementAction implements Action {
         this.target = target;
     }
 
+    public Node getTarget() { return target; }
+
     @Override
     public boolean isExecutable(GameState state, Player p) {
-        if (target.isOccupied()) return false;
         if (!p.canAfford(Cost.settlementCost())) return false;
         if (!p.getPieces().hasSettlement()) return false;
-        // Distance rule: no adjacent node may have a building
-        for (Edge e : target.getIncidentEdges()) {
-            Node neighbor = e.getOtherNode(target);
-            if (neighbor != null && neighbor.isOccupied()) return false;
-        }
-        // Must be adjacent to player's road
-        boolean hasAdjacentRoad = false;
-        for (Edge e : target.getIncidentEdges()) {
-            if (e.isOccupied() && e.getRoad().getOwner() == p) {
-                hasAdjacentRoad = true;
-                break;
-            }
-        }
-        return hasAdjacentRoad;
+        // Distance rule, and must be adjacent to player's road
+        return state.getBoard().getBitBoard().isSettlementSpot(p, target.getId());
     }
 
     @Override
@@ -34,13 +23,22 @@ public class BuildSettlementAction implements Action {
         p.pay(cost);
         state.getBank().returnCost(cost);
         p.getPieces().takeSettlement();
-        Settlement settlement = new Settlement(p, target);
-        target.setBuilding(settlement);
+        state.getBoard().setBuilding(target, p.getSettlementPiece());
         p.addVP(1);
     }
 
     @Override
-    public String describe() {
+    public void undo(GameState state, Player p) {
+        Cost cost = Cost.settlementCost();
+        state.getBoard().setBuilding(target, null);
+        p.getPieces().returnSettlement();
+        p.removeVP(1);
+        state.getBank().takeCost(cost);
+        p.refund(cost);
+    }
+
+    @Override
+    public String describe(Board board) {
         StringBuilder sb = new StringBuilder();
         sb.append("builds a settlement at node ").append(target.getId());
         sb.append(" (adjacent to ");
@@ -48,9 +46,9 @@ public class BuildSettlementAction implements Action {
         for (Tile t : target.getAdjacentTiles()) {
             if (!first) sb.append(", ");
             first = false;
-            sb.append(t.getTerrain());
-            if (t.getTerrain() != TerrainType.DESERT) {
-                sb.append("/").append(t.getToken());
+            sb.append(board.getTerrain(t));
+            if (board.getTerrain(t) != TerrainType.DESERT) {
+                sb.append("/").append(board.getToken(t));
             }
         }
         sb.append(") [cost: 1 BRICK, 1 LUMBER, 1 WOOL, 1 GRAIN]");
@@ -1,16 +1,20 @@
 package catan;
 
+/**
+ * A piece on a node. It only says who owns it and what kind it is; where it stands is
+ * kept by the Board (getBuilding/setBuilding by Node). Pieces are immutable, so every
+ * Player keeps one Settlement and one City (getSettlementPiece, getCityPiece) and those
+ * same instances are placed on every node they own, so building or upgrading allocates
+ * nothing.
+ */
 public class Building {
     private final Player owner;
-    private final Node location;
 
-    public Building(Player owner, Node location) {
+    public Building(Player owner) {
         this.owner = owner;
-        this.location = location;
     }
 
     public Player getOwner() { return owner; }
-    public Node getLocation() { return location; }
 
     public int getVPValue() { return 0; }
 }
@@ -15,7 +15,7 @@ import java.util.Map;
  * player buildings, roads, and a scoreboard.
  * Includes playback speed controls so the user can watch the game unfold.
  */
-public class CatanBoardGUI extends JFrame {
+public class CatanBoardGUI extends JFrame implements GameObserver {
 
     // Hex geometry: pointy-top hexagons
     private static final int HEX_RADIUS = 50;
@@ -260,6 +260,11 @@ public class CatanBoardGUI extends JFrame {
         sleepWithPause();
     }
 
+    @Override
+    public void onTurnComplete(Board board, Player[] players, int round, String status) {
+        update(board, players, round, status);
+    }
+
     /**
      * Sleep for the configured delay, respecting pause state.
      */
@@ -370,7 +375,8 @@ public class CatanBoardGUI extends JFrame {
         private void drawHex(Graphics2D g2, Tile tile, double cx, double cy) {
             Polygon hex = createHexagon(cx, cy);
 
-            Color terrainColor = TERRAIN_COLORS.getOrDefault(tile.getTerrain(), Color.GRAY);
+            TerrainType terrain = board.getTerrain(tile);
+            Color terrainColor = TERRAIN_COLORS.getOrDefault(terrain, Color.GRAY);
             g2.setColor(terrainColor);
             g2.fillPolygon(hex);
 
@@ -378,11 +384,11 @@ public class CatanBoardGUI extends JFrame {
             g2.setStroke(new BasicStroke(2.5f));
             g2.drawPolygon(hex);
 
-            String terrainName = TERRAIN_NAMES.getOrDefault(tile.getTerrain(), "?");
+            String terrainName = TERRAIN_NAMES.getOrDefault(terrain, "?");
             g2.setFont(new Font("SansSerif", Font.BOLD, 11));
             FontMetrics fm = g2.getFontMetrics();
 
-            if (tile.getTerrain() == TerrainType.FOREST || tile.getTerrain() == TerrainType.MOUNTAINS) {
+            if (terrain == TerrainType.FOREST || terrain == TerrainType.MOUNTAINS) {
                 g2.setColor(Color.WHITE);
             } else {
                 g2.setColor(new Color(40, 30, 20));
@@ -391,8 +397,8 @@ public class CatanBoardGUI extends JFrame {
             int textWidth = fm.stringWidth(terrainName);
             g2.drawString(terrainName, (int)(cx - textWidth / 2.0), (int)(cy - 8));
 
-            if (tile.getTerrain() != TerrainType.DESERT) {
-                drawToken(g2, tile.getToken(), cx, cy + 5);
+            if (terrain != TerrainType.DESERT) {
+                drawToken(g2, board.getToken(tile), cx, cy + 5);
             } else {
                 g2.setFont(new Font("SansSerif", Font.ITALIC, 10));
                 String sub = "(no resource)";
@@ -429,8 +435,8 @@ public class CatanBoardGUI extends JFrame {
             if (nodePositions == null) return;
 
             for (Edge edge : board.getAllEdges()) {
-                if (edge.isOccupied()) {
-                    Road road = edge.getRoad();
+                if (board.isOccupied(edge)) {
+                    Road road = board.getRoad(edge);
                     int playerId = road.getOwner().getId();
                     Color color = PLAYER_COLORS[playerId - 1];
 
@@ -473,9 +479,9 @@ public class CatanBoardGUI extends JFrame {
             if (nodePositions == null) return;
 
             for (Node node : board.getNodes()) {
-                if (node == null || !node.isOccupied()) continue;
+                if (node == null || !board.isOccupied(node)) continue;
 
-                Building b = node.getBuilding();
+                Building b = board.getBuilding(node);
                 int playerId = b.getOwner().getId();
                 Color color = PLAYER_COLORS[playerId - 1];
                 double[] pos = nodePositions.get(node.getId());
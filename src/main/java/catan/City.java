@@ -1,8 +1,8 @@
 package catan;
 
 public class City extends Building {
-    public City(Player owner, Node location) {
-        super(owner, location);
+    public City(Player owner) {
+        super(owner);
     }
 
     @Override
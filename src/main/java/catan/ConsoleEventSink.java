@@ -0,0 +1,115 @@
+package catan;
+
+import java.io.PrintStream;
+
+/**
+ * Prints events as the game log that interactive runs show on the console. All
+ * formatting happens here, so nothing is turned into text unless this sink is attached.
+ */
+public class ConsoleEventSink implements EventSink {
+    private final PrintStream out;
+
+    /** Prints to whatever System.out is at the time of each event. */
+    public ConsoleEventSink() {
+        this(null);
+    }
+
+    public ConsoleEventSink(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void onEvent(GameEvent e) {
+        PrintStream o = out != null ? out : System.out;
+        String prefix = e.getRound() + " / " + e.getPlayerId() + ": ";
+        switch (e.getType()) {
+            case ROLL:
+                o.println(prefix + "rolls a " + e.getAmount());
+                break;
+            case NO_PRODUCTION:
+                o.println(prefix + "no resources produced (rolled 7)");
+                break;
+            case DISCARD:
+                o.println(prefix + "discards " + e.getAmount() + " cards (over 7)");
+                break;
+            case PRODUCTION:
+                o.println(prefix + "receives " + e.getAmount() + " " + e.getResource());
+                break;
+            case BUILD:
+                o.println(prefix + e.getAction().describe(e.getBoard())
+                    + " [hand: " + hand(e) + "]");
+                break;
+            case LONGEST_ROAD:
+                if (e.getPreviousPlayerId() >= 0) {
+                    o.println(e.getRound() + " / " + e.getPreviousPlayerId()
+                        + ": loses Longest Road (-2 VP)");
+                }
+                if (e.getPlayerId() >= 0) {
+                    o.println(prefix + "claims Longest Road! (+2 VP, road length: "
+                        + e.getAmount() + ")");
+                }
+                break;
+            case ROUND_END:
+                StringBuilder sb = new StringBuilder();
+                sb.append(e.getRound()).append(" / VP: ");
+                for (int i = 0; i < e.getPlayerCount(); i++) {
+                    if (i > 0) sb.append(", ");
+                    sb.append(e.getPlayerIdAt(i)).append("=").append(e.getVPAt(i));
+                }
+                o.println(sb.toString());
+                break;
+            case SETUP_SETTLEMENT:
+                o.println("Setup / " + e.getPlayerId() + ": places settlement at node "
+                    + e.getNode().getId() + " (adjacent to " + tiles(e) + ")");
+                break;
+            case SETUP_ROAD:
+                o.println("Setup / " + e.getPlayerId() + ": places road between node "
+                    + e.getEdge().getA().getId() + " and node " + e.getEdge().getB().getId());
+                break;
+            case SETUP_RESOURCES:
+                String cards = cards(e);
+                if (!cards.isEmpty()) {
+                    o.println("Setup / " + e.getPlayerId() + ": receives starting resources: "
+                        + cards);
+                }
+                break;
+            case MESSAGE:
+                o.println(e.getText());
+                break;
+        }
+    }
+
+    // Terrain and token of each tile around the event's node, e.g. "FOREST/5, DESERT"
+    private static String tiles(GameEvent e) {
+        StringBuilder sb = new StringBuilder();
+        for (Tile t : e.getNode().getAdjacentTiles()) {
+            if (sb.length() > 0) sb.append(", ");
+            TerrainType terrain = e.getBoard().getTerrain(t);
+            sb.append(terrain);
+            if (terrain != TerrainType.DESERT) {
+                sb.append("/").append(e.getBoard().getToken(t));
+            }
+        }
+        return sb.toString();
+    }
+
+    // Non-zero counts in hand, e.g. "1 ORE, 2 WOOL"
+    private static String cards(GameEvent e) {
+        StringBuilder sb = new StringBuilder();
+        for (ResourceType r : ResourceType.values()) {
+            if (e.getHand(r) == 0) continue;
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(e.getHand(r)).append(" ").append(r);
+        }
+        return sb.toString();
+    }
+
+    // Same layout as ResourceInventory.toString
+    private static String hand(GameEvent e) {
+        return "BRICK=" + e.getHand(ResourceType.BRICK)
+            + ", LUMBER=" + e.getHand(ResourceType.LUMBER)
+            + ", ORE=" + e.getHand(ResourceType.ORE)
+            + ", GRAIN=" + e.getHand(ResourceType.GRAIN)
+            + ", WOOL=" + e.getHand(ResourceType.WOOL);
+    }
+}
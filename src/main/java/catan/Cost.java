@@ -20,8 +20,14 @@ public class Cost {
     public int getWool() { return wool; }
     public int getGrain() { return grain; }
     public int getOre() { return ore; }
+    public int getTotal() { return brick + lumber + wool + grain + ore; }
 
-    public static Cost roadCost() { return new Cost(1, 1, 0, 0, 0); }
-    public static Cost settlementCost() { return new Cost(1, 1, 1, 1, 0); }
-    public static Cost cityCost() { return new Cost(0, 0, 0, 2, 3); }
+    // Costs are immutable, so the three standard ones are shared instead of rebuilt per call
+    private static final Cost ROAD = new Cost(1, 1, 0, 0, 0);
+    private static final Cost SETTLEMENT = new Cost(1, 1, 1, 1, 0);
+    private static final Cost CITY = new Cost(0, 0, 0, 2, 3);
+
+    public static Cost roadCost() { return ROAD; }
+    public static Cost settlementCost() { return SETTLEMENT; }
+    public static Cost cityCost() { return CITY; }
 }
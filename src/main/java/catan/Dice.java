@@ -1,12 +1,17 @@
 package catan;
 
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 public class Dice {
-    private final Random rng;
+    private final RandomGenerator rng;
 
     public Dice() {
-        this.rng = new Random();
+        this(new Random());
+    }
+
+    public Dice(RandomGenerator rng) {
+        this.rng = rng;
     }
 
     public int roll() {
@@ -1,22 +1,23 @@
 package catan;
 
+/**
+ * A side between two nodes, shared like Node by every Board of one topology; the road
+ * on it, if any, is kept by the Board (see Board.getRoad).
+ */
 public class Edge {
+    private final int id;
     private final Node a;
     private final Node b;
-    private Road road;
 
-    public Edge(Node a, Node b) {
+    Edge(int id, Node a, Node b) {
+        this.id = id;
         this.a = a;
         this.b = b;
     }
 
+    public int getId() { return id; }
     public Node getA() { return a; }
     public Node getB() { return b; }
-    public Road getRoad() { return road; }
-
-    public void setRoad(Road road) { this.road = road; }
-
-    public boolean isOccupied() { return road != null; }
 
     public Node getOtherNode(Node node) {
         if (node == a) return b;
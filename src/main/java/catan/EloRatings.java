@@ -0,0 +1,87 @@
+package catan;
+
+import java.util.Arrays;
+
+/**
+ * Multiplayer Elo over a fixed set of entrants, updated one game at a time.
+ *
+ * A 4-player game counts as the 6 pairwise matches between its seats: for each pair the
+ * one with more VP scores 1, equal VP is a draw. Each pair moves both ratings by
+ * K / (seats - 1) times (score - expected), with all of a game's changes worked out from
+ * the ratings before the game. Only the ratings and a few counters per entrant are kept,
+ * so any number of games can stream through. Thread-safe.
+ */
+public class EloRatings {
+    public static final double INITIAL_RATING = 1500.0;
+    public static final double DEFAULT_K = 16.0;
+
+    private final double k;
+    private final double[] ratings;
+    private final long[] games;
+    private final long[] wins;
+    private final long[] totalVP;
+    private final double[] delta;
+
+    public EloRatings(int entrants) {
+        this(entrants, DEFAULT_K);
+    }
+
+    public EloRatings(int entrants, double k) {
+        this.k = k;
+        this.ratings = new double[entrants];
+        this.games = new long[entrants];
+        this.wins = new long[entrants];
+        this.totalVP = new long[entrants];
+        this.delta = new double[entrants];
+        Arrays.fill(ratings, INITIAL_RATING);
+    }
+
+    /**
+     * Records one game. entrants[s] is the entrant in seat s, vp[s] its final VP, and
+     * winnerSeat the winning seat or -1 if nobody won. An entrant may hold several seats;
+     * pairs of seats with the same entrant don't change its rating.
+     */
+    public synchronized void record(int[] entrants, int[] vp, int winnerSeat) {
+        int seats = entrants.length;
+        double perPair = k / (seats - 1);
+        for (int s = 0; s < seats; s++) {
+            delta[entrants[s]] = 0.0;
+        }
+        for (int a = 0; a < seats; a++) {
+            for (int b = a + 1; b < seats; b++) {
+                int ea = entrants[a];
+                int eb = entrants[b];
+                if (ea == eb) continue;
+                double expected = expectedScore(ratings[ea], ratings[eb]);
+                double score = vp[a] > vp[b] ? 1.0 : vp[a] < vp[b] ? 0.0 : 0.5;
+                double change = perPair * (score - expected);
+                delta[ea] += change;
+                delta[eb] -= change;
+            }
+        }
+        for (int s = 0; s < seats; s++) {
+            int e = entrants[s];
+            ratings[e] += delta[e];
+            // Only apply each entrant's change once, however many seats it held
+            delta[e] = 0.0;
+            games[e]++;
+            totalVP[e] += vp[s];
+            if (s == winnerSeat) wins[e]++;
+        }
+    }
+
+    /** Chance that a player rated a scores better than one rated b. */
+    public static double expectedScore(double a, double b) {
+        return 1.0 / (1.0 + Math.pow(10.0, (b - a) / 400.0));
+    }
+
+    public int size() { return ratings.length; }
+    public synchronized double getRating(int entrant) { return ratings[entrant]; }
+    public synchronized long getGames(int entrant) { return games[entrant]; }
+    public synchronized long getWins(int entrant) { return wins[entrant]; }
+
+    /** Mean final VP per seat played. */
+    public synchronized double meanVP(int entrant) {
+        return games[entrant] == 0 ? 0.0 : (double) totalVP[entrant] / games[entrant];
+    }
+}
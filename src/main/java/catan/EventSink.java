@@ -0,0 +1,9 @@
+package catan;
+
+/**
+ * Receives the game's events from an ActionLogger. The event object is reused for the
+ * next event, so copy out anything that has to outlive the call.
+ */
+public interface EventSink {
+    void onEvent(GameEvent event);
+}
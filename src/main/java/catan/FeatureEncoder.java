@@ -0,0 +1,117 @@
+package catan;
+
+import java.util.Arrays;
+
+/**
+ * Writes a GameState into a flat numeric vector for policy/value models, from one
+ * player's point of view. Players are listed relative to that player (self first, then
+ * the following seats in turn order), so the same network works for every seat.
+ *
+ * Layout, in order:
+ *   settlements  NODE_COUNT x players   1 where the relative player has a settlement
+ *   cities       NODE_COUNT x players   1 where the relative player has a city
+ *   roads        EDGE_COUNT x players   1 where the relative player has a road
+ *   hands        players x 5            resource counts, ResourceType order
+ *   pieces       players x 3            roads, settlements, cities left
+ *   vp           players                victory points
+ *   terrain      tiles x 6              one-hot TerrainType
+ *   tokens       tiles                  number token (0 for the desert)
+ *
+ * Nothing is allocated per call; the caller owns and reuses the buffer. The float
+ * version goes through a scratch array, so one encoder should stay on one thread.
+ */
+public class FeatureEncoder {
+    private static final int TILE_COUNT = 19;
+    private static final ResourceType[] TYPES = ResourceType.values();
+    private static final int TERRAINS = TerrainType.values().length;
+
+    private final int players;
+    private final int settlementsOffset;
+    private final int citiesOffset;
+    private final int roadsOffset;
+    private final int handsOffset;
+    private final int piecesOffset;
+    private final int vpOffset;
+    private final int terrainOffset;
+    private final int tokensOffset;
+    private final int size;
+    private final int[] scratch;
+
+    public FeatureEncoder(int players) {
+        this.players = players;
+        this.settlementsOffset = 0;
+        this.citiesOffset = settlementsOffset + BitBoard.NODE_COUNT * players;
+        this.roadsOffset = citiesOffset + BitBoard.NODE_COUNT * players;
+        this.handsOffset = roadsOffset + BitBoard.EDGE_COUNT * players;
+        this.piecesOffset = handsOffset + TYPES.length * players;
+        this.vpOffset = piecesOffset + 3 * players;
+        this.terrainOffset = vpOffset + players;
+        this.tokensOffset = terrainOffset + TILE_COUNT * TERRAINS;
+        this.size = tokensOffset + TILE_COUNT;
+        this.scratch = new int[size];
+    }
+
+    /** Length of the vector. */
+    public int size() {
+        return size;
+    }
+
+    public void encode(GameState state, Player self, int[] out) {
+        encode(state, self, out, 0);
+    }
+
+    /** Writes the vector into out starting at offset, e.g. one row of a batch buffer. */
+    public void encode(GameState state, Player self, int[] out, int offset) {
+        Arrays.fill(out, offset, offset + size, 0);
+        Player[] seats = state.getPlayers();
+        if (seats.length != players) {
+            throw new IllegalArgumentException("Encoder built for " + players + " players, game has " + seats.length);
+        }
+        BitBoard bits = state.getBoard().getBitBoard();
+        int first = state.seatOf(self);
+
+        for (int k = 0; k < players; k++) {
+            Player p = seats[(first + k) % players];
+            int nodePlane = offset + k * BitBoard.NODE_COUNT;
+            int edgePlane = offset + roadsOffset + k * BitBoard.EDGE_COUNT;
+            writeMask(out, nodePlane + settlementsOffset, bits.getSettlements(p));
+            writeMask(out, nodePlane + citiesOffset, bits.getCities(p));
+            writeMask(out, edgePlane, bits.getRoadsLo(p));
+            writeMask(out, edgePlane + 64, bits.getRoadsHi(p));
+
+            int hand = handsOffset + k * TYPES.length;
+            for (ResourceType r : TYPES) {
+                out[offset + hand + r.ordinal()] = p.getHand().get(r);
+            }
+            PiecePool pieces = p.getPieces();
+            out[offset + piecesOffset + k * 3] = pieces.roadsRemaining();
+            out[offset + piecesOffset + k * 3 + 1] = pieces.settlementsRemaining();
+            out[offset + piecesOffset + k * 3 + 2] = pieces.citiesRemaining();
+            out[offset + vpOffset + k] = p.getVP();
+        }
+
+        Board board = state.getBoard();
+        for (Tile t : board.getTiles()) {
+            out[offset + terrainOffset + t.getId() * TERRAINS + board.getTerrain(t).ordinal()] = 1;
+            out[offset + tokensOffset + t.getId()] = board.getToken(t);
+        }
+    }
+
+    /** Same values as the int version, as floats. */
+    public void encode(GameState state, Player self, float[] out) {
+        encode(state, self, out, 0);
+    }
+
+    public void encode(GameState state, Player self, float[] out, int offset) {
+        encode(state, self, scratch, 0);
+        for (int i = 0; i < size; i++) {
+            out[offset + i] = scratch[i];
+        }
+    }
+
+    private static void writeMask(int[] out, int offset, long mask) {
+        for (long m = mask; m != 0; m &= m - 1) {
+            out[offset + Long.numberOfTrailingZeros(m)] = 1;
+        }
+    }
+}
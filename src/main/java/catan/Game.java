@@ -2,7 +2,9 @@ package catan;
 
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class Game {
     private final Player[] players;
@@ -10,50 +12,159 @@ public class Game {
     private int currentRound;
     private final int maxRounds;
     private final int targetVictoryPoints;
-    private final Dice dice;
+    private Dice dice;
     private final RuleEngine rules;
     private final ActionGenerator actionSelector;
+    // Refilled for every decision; strategies must not keep it
+    private final List<Action> actionBuffer = new ArrayList<>();
     private final ActionLogger logger;
     private final ResourceProductionEngine productionEngine;
-    private final SetupManager setupManager;
+    private SetupManager setupManager;
     private final GameState gameState;
     private final ResourceBank bank;
-    private final BoardVisualizer visualizer;
-    private final CatanBoardGUI gui;
+    private final List<GameObserver> observers;
+    private long seed;
+    private RandomGenerator discardRng;
+    // Strategies given per seat (null entries play randomly), kept for reset()
+    private final AgentStrategy[] seatStrategies;
     private final LongestRoadTracker longestRoadTracker;
     private int[] lastVPSnapshot;
     private Player winner;
+    private int nextSeat;
+    private boolean over;
+    private boolean describeActions;
+    // Turn in progress, for callers that drive decisions one at a time
+    private boolean inTurn;
+    private String lastAction;
 
     public Game(int maxRounds) {
+        this(maxRounds, false);
+    }
+
+    /**
+     * A headless game has no GUI, no ASCII board and a silent logger, so it plays
+     * at full speed without touching Swing or stdout. Observers can still be added.
+     */
+    public Game(int maxRounds, boolean headless) {
+        this(maxRounds, headless, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Every random choice in the game (terrain, setup, dice, discards, agents) is drawn
+     * from streams derived from this seed, so the same seed always plays the same game.
+     */
+    public Game(int maxRounds, boolean headless, long seed) {
+        this(maxRounds, headless, seed, null);
+    }
+
+    /**
+     * Same as above, but with the given strategy for each seat instead of random agents.
+     * A null array, or a null entry, falls back to a RandomStrategy for that seat.
+     */
+    public Game(int maxRounds, boolean headless, long seed, AgentStrategy[] strategies) {
+        GameRandom random = new GameRandom(seed);
+        this.seed = seed;
+        this.discardRng = random.discard();
         this.maxRounds = maxRounds;
         this.targetVictoryPoints = 10;
         this.currentRound = 0;
 
         // Create board
-        BoardLayout layout = BoardLayout.createStandardLayout();
+        BoardLayout layout = BoardLayout.createStandardLayout(random.layout());
         this.board = new Board(layout);
 
         // Create bank
         this.bank = new ResourceBank();
 
-        // Create 4 players with random strategies
+        // Create 4 players, random strategies unless told otherwise
         this.players = new Player[4];
+        this.seatStrategies = strategies != null ? strategies.clone() : new AgentStrategy[4];
         for (int i = 0; i < 4; i++) {
-            players[i] = new Player(i + 1, new RandomStrategy());
+            players[i] = new Player(i + 1, seatStrategy(i, random));
         }
 
         // Create game components
-        this.dice = new Dice();
+        this.dice = new Dice(random.dice());
         this.rules = new RuleEngine(board);
-        this.actionSelector = new ActionGenerator(rules);
-        this.logger = new ActionLogger();
+        this.actionSelector = new ActionGenerator();
+        this.logger = new ActionLogger(!headless);
         this.productionEngine = new ResourceProductionEngine(board, bank, logger);
-        this.setupManager = new SetupManager();
+        this.setupManager = new SetupManager(random.setup());
         this.gameState = new GameState(board, bank, players);
-        this.visualizer = new BoardVisualizer();
-        this.gui = new CatanBoardGUI();
         this.longestRoadTracker = new LongestRoadTracker();
+        gameState.setLongestRoadTracker(longestRoadTracker);
         this.lastVPSnapshot = new int[4];
+        this.observers = new ArrayList<>();
+        if (!headless) {
+            observers.add(new BoardVisualizer());
+            observers.add(new CatanBoardGUI());
+        }
+        this.describeActions = !headless;
+    }
+
+    private AgentStrategy seatStrategy(int seat, GameRandom random) {
+        // Always split the stream so seat i's random stream doesn't depend on the others
+        RandomStrategy fallback = new RandomStrategy(random.nextStrategy());
+        return seatStrategies[seat] != null ? seatStrategies[seat] : fallback;
+    }
+
+    /**
+     * Starts over as a fresh game with the given seed, reusing this game's board, players,
+     * bank and engines instead of building new ones; call setup() or run() next. Plays
+     * exactly like new Game(maxRounds, headless, seed, strategies) with the same
+     * strategies. Only the small per-seed random streams are new.
+     */
+    public void reset(long seed) {
+        GameRandom random = new GameRandom(seed);
+        this.seed = seed;
+        this.discardRng = random.discard();
+
+        board.reset(BoardLayout.createStandardLayout(random.layout()));
+        bank.reset();
+        for (int i = 0; i < players.length; i++) {
+            players[i].reset(seatStrategy(i, random));
+        }
+        this.dice = new Dice(random.dice());
+        this.setupManager = new SetupManager(random.setup());
+        productionEngine.reindex();
+        longestRoadTracker.reset();
+        gameState.reset();
+
+        currentRound = 0;
+        Arrays.fill(lastVPSnapshot, 0);
+        winner = null;
+        nextSeat = 0;
+        over = false;
+        inTurn = false;
+        lastAction = null;
+    }
+
+    /**
+     * Same as reset(seed), but with new seat strategies for this and later games. A null
+     * array, or a null entry, falls back to a RandomStrategy for that seat.
+     */
+    public void reset(long seed, AgentStrategy[] strategies) {
+        Arrays.fill(seatStrategies, null);
+        if (strategies != null) {
+            System.arraycopy(strategies, 0, seatStrategies, 0,
+                Math.min(strategies.length, seatStrategies.length));
+        }
+        reset(seed);
+    }
+
+    /**
+     * Sends the game log to sink as typed GameEvents, e.g. to collect statistics from a
+     * headless game; null silences it.
+     */
+    public void setEventSink(EventSink sink) {
+        logger.setSink(sink);
+    }
+
+    public void addObserver(GameObserver observer) {
+        observers.add(observer);
+        if (observer.wantsDescriptions()) {
+            describeActions = true;
+        }
     }
 
     public void setup() {
@@ -67,8 +178,8 @@ public class Game {
         longestRoadTracker.update(players, board, logger, 0);
 
         // Show the board after setup so the reviewer can see initial placements
-        visualizer.printBoard(board, "BOARD AFTER SETUP");
-        gui.update(board, players, 0, "Setup complete - game starting!");
+        notifySnapshot("BOARD AFTER SETUP");
+        notifyTurnComplete(0, "Setup complete - game starting!");
 
         // Snapshot VP after setup for change detection
         for (int i = 0; i < players.length; i++) {
@@ -80,39 +191,124 @@ public class Game {
         setup();
 
         logger.logSectionHeader("GAME BEGINS");
-        System.out.println();
-
-        boolean done = false;
-        while (!done) {
-            currentRound++;
-            for (Player p : players) {
-                playTurn(p);
-                if (hasWinner()) {
-                    done = true;
-                    break;
-                }
+        logger.logBlankLine();
+
+        while (playNextTurn()) {
+            // keep playing
+        }
+        finish();
+    }
+
+    /**
+     * Plays the next player's turn (call setup() first). Returns false once the game is
+     * over, either because someone won or the last round finished.
+     */
+    public boolean playNextTurn() {
+        Player p = nextDecision();
+        if (p == null) return false;
+        while (inTurn) {
+            List<Action> actions = actionBuffer;
+            actionSelector.getExecutableActions(gameState, p, mustBuild(p), actions);
+            applyDecision(p.chooseAction(actions, gameState));
+        }
+        return !over;
+    }
+
+    /**
+     * For callers that make the decisions themselves (instead of the players' strategies):
+     * starts the next turn if none is in progress, and returns the player who has to
+     * choose an action, or null once the game is over. Follow with applyDecision.
+     */
+    public Player nextDecision() {
+        if (over) return null;
+        if (!inTurn) {
+            if (nextSeat == 0) {
+                currentRound++;
+            }
+            startTurn(players[nextSeat]);
+            inTurn = true;
+        }
+        return players[nextSeat];
+    }
+
+    /**
+     * Executes an action for the player returned by nextDecision. It should be one of the
+     * legal actions; a pass ends the turn.
+     */
+    public void applyDecision(Action chosen) {
+        if (!inTurn) {
+            throw new IllegalStateException("No turn in progress; call nextDecision first");
+        }
+        Player p = players[nextSeat];
+        executeChoice(p, chosen);
+        if (chosen instanceof PassAction) {
+            inTurn = false;
+            finishTurn(p);
+        }
+    }
+
+    /** Whether the player about to decide must build (hand over 7). */
+    public boolean mustBuildNow() {
+        return inTurn && mustBuild(players[nextSeat]);
+    }
+
+    private void finishTurn(Player p) {
+        // Update GUI after every player turn
+        if (!observers.isEmpty()) {
+            notifyTurnComplete(currentRound, describeActions
+                ? "Round " + currentRound + " / Player " + p.getId() + ": " + lastAction
+                : null);
+        }
+        if (hasWinner()) {
+            over = true;
+            endRound();
+            return;
+        }
+        nextSeat++;
+        if (nextSeat == players.length) {
+            nextSeat = 0;
+            endRound();
+            if (currentRound >= maxRounds) {
+                over = true;
             }
-            logger.logEndOfRound(currentRound, players);
+        }
+    }
+
+    private void endRound() {
+        logger.logEndOfRound(currentRound, players);
 
-            // Show ASCII board in console if VP changed or at periodic checkpoints
+        // Show ASCII board in console if VP changed or at periodic checkpoints
+        if (!observers.isEmpty()) {
             if (vpChanged()) {
-                visualizer.printBoard(board, "BOARD (Round " + currentRound + " - VP changed)");
+                notifySnapshot("BOARD (Round " + currentRound + " - VP changed)");
                 snapshotVP();
             } else if (currentRound % 25 == 0) {
-                visualizer.printBoard(board, "BOARD (Round " + currentRound + " checkpoint)");
-            }
-
-            if (currentRound >= maxRounds) {
-                done = true;
+                notifySnapshot("BOARD (Round " + currentRound + " checkpoint)");
             }
         }
+    }
 
+    private void finish() {
         // Show the final board state
-        visualizer.printBoard(board, "FINAL BOARD");
-        String endMsg = winner != null
-            ? "Game Over! Player " + winner.getId() + " wins with " + winner.getVP() + " VP!"
-            : "Game Over! No winner after " + maxRounds + " rounds.";
-        gui.update(board, players, currentRound, endMsg);
+        notifySnapshot("FINAL BOARD");
+        if (!observers.isEmpty()) {
+            String endMsg = winner != null
+                ? "Game Over! Player " + winner.getId() + " wins with " + winner.getVP() + " VP!"
+                : "Game Over! No winner after " + maxRounds + " rounds.";
+            notifyTurnComplete(currentRound, endMsg);
+        }
+    }
+
+    private void notifySnapshot(String title) {
+        for (GameObserver o : observers) {
+            o.onBoardSnapshot(board, title);
+        }
+    }
+
+    private void notifyTurnComplete(int round, String status) {
+        for (GameObserver o : observers) {
+            o.onTurnComplete(board, players, round, status);
+        }
     }
 
     private boolean vpChanged() {
@@ -138,13 +334,16 @@ public class Game {
         return false;
     }
 
-    private void playTurn(Player p) {
+    private void startTurn(Player p) {
         // Roll dice
         int roll = dice.roll();
-        gameState.setCurrentRoll(roll);
+        gameState.beginTurn(roll);
 
         // Log the dice roll
         logger.logDiceRoll(currentRound, p.getId(), roll);
+        for (GameObserver o : observers) {
+            o.onDiceRoll(currentRound, p, roll);
+        }
 
         // When a 7 is rolled, all players with more than 7 cards must discard half
         if (roll == 7) {
@@ -159,33 +358,29 @@ public class Game {
         }
         productionEngine.produce(roll, players, currentRound);
 
-        // Player can take multiple build actions per turn
-        // Keep going until player passes or no actions remain
-        String lastAction = "rolls dice: " + roll;
-        while (true) {
-            boolean mb = mustBuild(p);
-            List<Action> actions = actionSelector.getExecutableActions(gameState, p, mb);
-
-            if (actions.isEmpty()) break;
-
-            Action chosen = p.chooseAction(actions);
-            chosen.execute(gameState, p);
-            lastAction = chosen.describe();
-            logger.logAction(currentRound, p.getId(), lastAction
-                + " [hand: " + p.getHand().toString() + "]");
-
-            // Recalculate longest road after building roads/settlements/cities
-            if (chosen instanceof BuildRoadAction || chosen instanceof BuildSettlementAction
-                    || chosen instanceof UpgradeToCityAction) {
-                longestRoadTracker.update(players, board, logger, currentRound);
-            }
+        // Player can then take build actions until they pass
+        lastAction = describeActions ? "rolls dice: " + roll : null;
+    }
 
-            if (chosen instanceof PassAction) break;
+    private void executeChoice(Player p, Action chosen) {
+        chosen.execute(gameState, p);
+        for (GameObserver o : observers) {
+            o.onAction(currentRound, p, chosen);
+        }
+        // Descriptions are only built when someone will read them; the log formats its own
+        if (describeActions) {
+            lastAction = chosen.describe(board);
+        }
+        logger.logBuild(currentRound, p, chosen, board);
+
+        // Update longest road; a city upgrade can't change anyone's roads
+        if (chosen instanceof BuildRoadAction) {
+            longestRoadTracker.roadBuilt(p, ((BuildRoadAction) chosen).getTarget(),
+                players, board, logger, currentRound);
+        } else if (chosen instanceof BuildSettlementAction) {
+            longestRoadTracker.settlementBuilt(p, ((BuildSettlementAction) chosen).getTarget(),
+                players, board, logger, currentRound);
         }
-
-        // Update GUI after every player turn
-        gui.update(board, players, currentRound,
-            "Round " + currentRound + " / Player " + p.getId() + ": " + lastAction);
     }
 
     private void discardRandomCards(Player player, int count) {
@@ -197,7 +392,7 @@ public class Game {
                 cards.add(r);
             }
         }
-        Collections.shuffle(cards);
+        GameRandom.shuffle(cards, discardRng);
         for (int i = 0; i < count && i < cards.size(); i++) {
             player.getHand().remove(cards.get(i), 1);
             bank.returnResources(cards.get(i), 1);
@@ -209,4 +404,11 @@ public class Game {
     }
 
     public Player getWinner() { return winner; }
+    public int getCurrentRound() { return currentRound; }
+    public long getSeed() { return seed; }
+    public Board getBoard() { return board; }
+    public GameState getGameState() { return gameState; }
+    public int getMaxRounds() { return maxRounds; }
+    public boolean isOver() { return over; }
+    public Player[] getPlayers() { return players; }
 }
@@ -0,0 +1,83 @@
+package catan;
+
+/**
+ * One thing that happened in a game, as plain fields rather than text. Which fields
+ * are set depends on the type:
+ *
+ *   ROLL              player rolled, amount = the roll
+ *   NO_PRODUCTION     player rolled a 7
+ *   DISCARD           player discarded, amount = cards given up
+ *   PRODUCTION        player received amount of resource
+ *   BUILD             player executed action on board; hand holds the player's cards
+ *                     afterwards
+ *   LONGEST_ROAD      holder changed from previousPlayer to player (-1 for nobody),
+ *                     amount = the new holder's road length
+ *   ROUND_END         vp of each of playerCount players, by seat
+ *   SETUP_SETTLEMENT  player placed a starting settlement on node of board
+ *   SETUP_ROAD        player placed a starting road on edge
+ *   SETUP_RESOURCES   player received the starting cards counted in hand
+ *   MESSAGE           a line of text, for once-per-game output like the board and headers
+ *
+ * ActionLogger fills in and passes the same instance for every event, so a sink must
+ * copy whatever it wants to keep before returning.
+ */
+public final class GameEvent {
+    public enum Type {
+        ROLL, NO_PRODUCTION, DISCARD, PRODUCTION, BUILD, LONGEST_ROAD, ROUND_END,
+        SETUP_SETTLEMENT, SETUP_ROAD, SETUP_RESOURCES, MESSAGE
+    }
+
+    private static final int MAX_PLAYERS = 8;
+
+    Type type;
+    int round;
+    int player;
+    int previousPlayer;
+    int amount;
+    ResourceType resource;
+    Action action;
+    Board board;
+    Node node;
+    Edge edge;
+    String text;
+    final int[] hand = new int[ResourceType.values().length];
+    final int[] playerIds = new int[MAX_PLAYERS];
+    final int[] vp = new int[MAX_PLAYERS];
+    int playerCount;
+
+    GameEvent() {
+    }
+
+    // Clears the per-type fields so a sink never sees leftovers from the previous event
+    GameEvent reset(Type type, int round, int player) {
+        this.type = type;
+        this.round = round;
+        this.player = player;
+        this.previousPlayer = -1;
+        this.amount = 0;
+        this.resource = null;
+        this.action = null;
+        this.board = null;
+        this.node = null;
+        this.edge = null;
+        this.text = null;
+        this.playerCount = 0;
+        return this;
+    }
+
+    public Type getType() { return type; }
+    public int getRound() { return round; }
+    public int getPlayerId() { return player; }
+    public int getPreviousPlayerId() { return previousPlayer; }
+    public int getAmount() { return amount; }
+    public ResourceType getResource() { return resource; }
+    public Action getAction() { return action; }
+    public Board getBoard() { return board; }
+    public Node getNode() { return node; }
+    public Edge getEdge() { return edge; }
+    public String getText() { return text; }
+    public int getHand(ResourceType type) { return hand[type.ordinal()]; }
+    public int getPlayerCount() { return playerCount; }
+    public int getPlayerIdAt(int seat) { return playerIds[seat]; }
+    public int getVPAt(int seat) { return vp[seat]; }
+}
@@ -0,0 +1,38 @@
+package catan;
+
+/**
+ * Something that watches a running game, like the Swing GUI or the ASCII board printer.
+ * A game with no observers attached runs headless.
+ */
+public interface GameObserver {
+
+    /**
+     * Called after setup, after every player turn, and once more when the game ends.
+     * The status is null when no attached observer wants descriptions.
+     */
+    default void onTurnComplete(Board board, Player[] players, int round, String status) {
+    }
+
+    /**
+     * Called at checkpoints worth a full board printout (after setup, when VP changes,
+     * every 25 rounds, and at the end of the game).
+     */
+    default void onBoardSnapshot(Board board, String title) {
+    }
+
+    /** Called right after the current player rolls. */
+    default void onDiceRoll(int round, Player player, int roll) {
+    }
+
+    /** Called after each action a player executes, including the final pass. */
+    default void onAction(int round, Player player, Action action) {
+    }
+
+    /**
+     * Whether this observer reads the status strings in onTurnComplete. Building them
+     * means describing every action, so observers that only want raw events return false.
+     */
+    default boolean wantsDescriptions() {
+        return true;
+    }
+}
@@ -0,0 +1,60 @@
+package catan;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * All randomness for one game, derived from a single seed. Each consumer (board layout,
+ * setup, dice, discards, each player's strategy) gets its own SplittableRandom stream
+ * split off the root, so the same seed replays the same game bit for bit and games
+ * running on different threads never share a generator.
+ */
+public class GameRandom {
+    private final long seed;
+    private final SplittableRandom layout;
+    private final SplittableRandom setup;
+    private final SplittableRandom dice;
+    private final SplittableRandom discard;
+    private final SplittableRandom strategies;
+
+    public GameRandom(long seed) {
+        this.seed = seed;
+        SplittableRandom root = new SplittableRandom(seed);
+        this.layout = root.split();
+        this.setup = root.split();
+        this.dice = root.split();
+        this.discard = root.split();
+        this.strategies = root.split();
+    }
+
+    public long getSeed() { return seed; }
+    public RandomGenerator layout() { return layout; }
+    public RandomGenerator setup() { return setup; }
+    public RandomGenerator dice() { return dice; }
+    public RandomGenerator discard() { return discard; }
+
+    // A fresh stream for the next player's strategy, split in seat order
+    public RandomGenerator nextStrategy() { return strategies.split(); }
+
+    /**
+     * Seed for game number index of a batch. Spreads consecutive indices across the
+     * whole 64-bit space (SplitMix64 finalizer) so neighbouring games get unrelated streams.
+     */
+    public static long gameSeed(long batchSeed, long index) {
+        long z = batchSeed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Fisher-Yates shuffle; Collections.shuffle only takes a java.util.Random on Java 17
+    public static <T> void shuffle(List<T> list, RandomGenerator rng) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            T tmp = list.get(i);
+            list.set(i, list.get(j));
+            list.set(j, tmp);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package catan;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Compact binary record of one game: seed, max rounds, the 19 tiles, then one entry per
+ * turn with the dice roll and the ids (see ActionIds) of the builds the player made.
+ *
+ * Layout, all integers as unsigned LEB128 varints:
+ *   seed (zigzag), maxRounds, 19 tile bytes (terrain ordinal << 4 | token), turn count,
+ *   then per turn a byte (roll - 2) << 4 | builds (15 means "15 + varint"), then the build ids.
+ * The closing pass of each turn is implied. A typical 100-round game is well under 1 KB.
+ */
+public class GameRecord {
+    private static final int TILE_COUNT = 19;
+
+    private final long seed;
+    private final int maxRounds;
+    private final byte[] tiles;
+    private final int[] rolls;
+    // Build ids for turn t are actionIds[turnStart[t] .. turnStart[t + 1])
+    private final int[] turnStart;
+    private final int[] actionIds;
+
+    public GameRecord(long seed, int maxRounds, byte[] tiles, int[] rolls, int[] turnStart, int[] actionIds) {
+        this.seed = seed;
+        this.maxRounds = maxRounds;
+        this.tiles = tiles;
+        this.rolls = rolls;
+        this.turnStart = turnStart;
+        this.actionIds = actionIds;
+    }
+
+    public long getSeed() { return seed; }
+    public int getMaxRounds() { return maxRounds; }
+    public int getTurnCount() { return rolls.length; }
+    public int getRoll(int turn) { return rolls[turn]; }
+    public int getBuildCount(int turn) { return turnStart[turn + 1] - turnStart[turn]; }
+    public int getBuildId(int turn, int index) { return actionIds[turnStart[turn] + index]; }
+
+    /** Terrain ordinal << 4 | token for the tile with the given id. */
+    public int getTileCode(int tileId) { return tiles[tileId] & 0xFF; }
+
+    public static byte encodeTile(Board board, Tile tile) {
+        return (byte) ((board.getTerrain(tile).ordinal() << 4) | board.getToken(tile));
+    }
+
+    // --- encoding ---
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + rolls.length + actionIds.length * 2);
+        writeVarLong(out, (seed << 1) ^ (seed >> 63));
+        writeVarLong(out, maxRounds);
+        out.write(tiles, 0, TILE_COUNT);
+        writeVarLong(out, rolls.length);
+        for (int t = 0; t < rolls.length; t++) {
+            int builds = getBuildCount(t);
+            out.write(((rolls[t] - 2) << 4) | Math.min(builds, 15));
+            if (builds >= 15) writeVarLong(out, builds - 15);
+            for (int i = turnStart[t]; i < turnStart[t + 1]; i++) {
+                writeVarLong(out, actionIds[i]);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /** Writes this record with a length prefix, so many records can share one stream. */
+    public void writeTo(OutputStream out) throws IOException {
+        byte[] body = toBytes();
+        ByteArrayOutputStream len = new ByteArrayOutputStream(5);
+        writeVarLong(len, body.length);
+        len.writeTo(out);
+        out.write(body);
+    }
+
+    /** Reads one length-prefixed record, or returns null at end of stream. */
+    public static GameRecord readFrom(InputStream in) throws IOException {
+        int first = in.read();
+        if (first < 0) return null;
+        long length = first & 0x7F;
+        int shift = 7;
+        while ((first & 0x80) != 0) {
+            first = in.read();
+            if (first < 0) throw new EOFException("Truncated record length");
+            length |= (long) (first & 0x7F) << shift;
+            shift += 7;
+        }
+        byte[] body = in.readNBytes((int) length);
+        if (body.length != length) throw new EOFException("Truncated record");
+        return fromBytes(body);
+    }
+
+    public static GameRecord fromBytes(byte[] data) {
+        int[] pos = {0};
+        long zig = readVarLong(data, pos);
+        long seed = (zig >>> 1) ^ -(zig & 1);
+        int maxRounds = (int) readVarLong(data, pos);
+        byte[] tiles = new byte[TILE_COUNT];
+        System.arraycopy(data, pos[0], tiles, 0, TILE_COUNT);
+        pos[0] += TILE_COUNT;
+        int turns = (int) readVarLong(data, pos);
+
+        int[] rolls = new int[turns];
+        int[] turnStart = new int[turns + 1];
+        int[] ids = new int[Math.max(16, turns)];
+        int count = 0;
+        for (int t = 0; t < turns; t++) {
+            int header = data[pos[0]++] & 0xFF;
+            rolls[t] = (header >>> 4) + 2;
+            int builds = header & 0x0F;
+            if (builds == 15) builds += (int) readVarLong(data, pos);
+            turnStart[t] = count;
+            for (int i = 0; i < builds; i++) {
+                if (count == ids.length) ids = Arrays.copyOf(ids, ids.length * 2);
+                ids[count++] = (int) readVarLong(data, pos);
+            }
+        }
+        turnStart[turns] = count;
+        return new GameRecord(seed, maxRounds, tiles, rolls, turnStart, Arrays.copyOf(ids, count));
+    }
+
+    static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    static long readVarLong(byte[] data, int[] pos) {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            int b = data[pos[0]++] & 0xFF;
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+            shift += 7;
+        }
+    }
+}
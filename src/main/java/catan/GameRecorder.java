@@ -0,0 +1,61 @@
+package catan;
+
+import java.util.Arrays;
+
+/**
+ * Observer that captures a game as a GameRecord while it plays.
+ * Attach it before setup: new GameRecorder(game) registers itself.
+ */
+public class GameRecorder implements GameObserver {
+    private final long seed;
+    private final int maxRounds;
+    private final byte[] tiles;
+    private int[] rolls = new int[256];
+    private int[] turnStart = new int[257];
+    private int[] actionIds = new int[256];
+    private int turns;
+    private int actions;
+
+    public GameRecorder(Game game) {
+        this.seed = game.getSeed();
+        this.maxRounds = game.getMaxRounds();
+        Board board = game.getBoard();
+        this.tiles = new byte[board.getTiles().size()];
+        for (Tile t : board.getTiles()) {
+            tiles[t.getId()] = GameRecord.encodeTile(board, t);
+        }
+        game.addObserver(this);
+    }
+
+    @Override
+    public void onDiceRoll(int round, Player player, int roll) {
+        if (turns == rolls.length) {
+            rolls = Arrays.copyOf(rolls, turns * 2);
+            turnStart = Arrays.copyOf(turnStart, turns * 2 + 1);
+        }
+        turnStart[turns] = actions;
+        rolls[turns++] = roll;
+    }
+
+    @Override
+    public void onAction(int round, Player player, Action action) {
+        // The pass that ends every turn is implied by the format
+        if (action instanceof PassAction) return;
+        if (actions == actionIds.length) {
+            actionIds = Arrays.copyOf(actionIds, actions * 2);
+        }
+        actionIds[actions++] = ActionIds.idOf(action);
+    }
+
+    @Override
+    public boolean wantsDescriptions() {
+        return false;
+    }
+
+    public GameRecord toRecord() {
+        int[] starts = Arrays.copyOf(turnStart, turns + 1);
+        starts[turns] = actions;
+        return new GameRecord(seed, maxRounds, tiles.clone(), Arrays.copyOf(rolls, turns),
+            starts, Arrays.copyOf(actionIds, actions));
+    }
+}
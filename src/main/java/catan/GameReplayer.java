@@ -0,0 +1,76 @@
+package catan;
+
+import java.util.List;
+
+/**
+ * Rebuilds a recorded game headlessly. The game is recreated from the record's seed, and
+ * every seat's decisions are replaced by the recorded action ids; the dice and board are
+ * checked against the record as it goes, so a record that doesn't match its seed fails fast.
+ */
+public class GameReplayer {
+
+    /** Replays the whole game. */
+    public static Game replay(GameRecord record) {
+        return replay(record, record.getTurnCount());
+    }
+
+    /**
+     * Replays setup plus the first turns player turns and returns the game paused there;
+     * getGameState() then shows the position at the start of turn number turns.
+     */
+    public static Game replay(GameRecord record, int turns) {
+        if (turns < 0 || turns > record.getTurnCount()) {
+            throw new IllegalArgumentException("Record has " + record.getTurnCount() + " turns, asked for " + turns);
+        }
+        Cursor cursor = new Cursor(record);
+        AgentStrategy[] strategies = {cursor, cursor, cursor, cursor};
+        Game game = new Game(record.getMaxRounds(), true, record.getSeed(), strategies);
+        Board board = game.getBoard();
+        for (Tile t : board.getTiles()) {
+            if (GameRecord.encodeTile(board, t) != (byte) record.getTileCode(t.getId())) {
+                throw new IllegalStateException("Board from seed doesn't match the recorded layout at tile " + t.getId());
+            }
+        }
+        game.addObserver(cursor);
+        game.setup();
+        for (int t = 0; t < turns && !game.isOver(); t++) {
+            game.playNextTurn();
+        }
+        return game;
+    }
+
+    // Feeds recorded actions to whichever seat is on turn, and checks each roll
+    private static class Cursor implements AgentStrategy, GameObserver {
+        private final GameRecord record;
+        private int turn = -1;
+        private int build;
+
+        Cursor(GameRecord record) {
+            this.record = record;
+        }
+
+        @Override
+        public void onDiceRoll(int round, Player player, int roll) {
+            turn++;
+            build = 0;
+            if (record.getRoll(turn) != roll) {
+                throw new IllegalStateException("Turn " + turn + " rolled " + roll
+                    + " but the record has " + record.getRoll(turn));
+            }
+        }
+
+        @Override
+        public boolean wantsDescriptions() {
+            return false;
+        }
+
+        @Override
+        public Action select(List<Action> options) {
+            int id = build < record.getBuildCount(turn)
+                ? record.getBuildId(turn, build++) : ActionIds.PASS;
+            Action a = ActionIds.find(options, id);
+            if (a != null) return a;
+            throw new IllegalStateException("Recorded action " + id + " is not legal on turn " + turn);
+        }
+    }
+}
@@ -1,20 +1,177 @@
 package catan;
 
+import java.util.Arrays;
+
+/**
+ * Everything an action needs to look at or change: board, bank and players.
+ *
+ * apply/undo give search code make/unmake moves without copying the board. apply
+ * executes an action and pushes an undo entry (including the longest road holder and
+ * cached lengths when a tracker is attached); undo pops the latest one. Entries are
+ * reused between calls, so a search that goes back and forth allocates nothing.
+ */
 public class GameState {
+    private static final ActionLogger SILENT = new ActionLogger(false);
+
     private final Board board;
     private final ResourceBank bank;
     private final Player[] players;
+    private final ZobristHash hash;
     private int currentRoll;
+    private int turnNumber;
+    private LongestRoadTracker longestRoadTracker;
+    private UndoEntry[] undoStack = new UndoEntry[16];
+    private int undoDepth;
 
+    /**
+     * The state takes over the board, bank and players' hash hooks, so each of them can
+     * only be part of one GameState; reuse a Game or GameState via reset() instead.
+     */
     public GameState(Board board, ResourceBank bank, Player[] players) {
         this.board = board;
         this.bank = bank;
         this.players = players;
+        this.hash = ZobristHash.attach(board, bank, players);
     }
 
     public Board getBoard() { return board; }
     public ResourceBank getBank() { return bank; }
     public Player[] getPlayers() { return players; }
+    // Zobrist hash of the position, kept current by the board, bank and players
+    public long getHash() { return hash.get(); }
     public int getCurrentRoll() { return currentRoll; }
     public void setCurrentRoll(int roll) { this.currentRoll = roll; }
+
+    // Counts player turns so strategies can tell one turn from the next
+    public int getTurnNumber() { return turnNumber; }
+
+    public void beginTurn(int roll) {
+        turnNumber++;
+        currentRoll = roll;
+    }
+
+    public LongestRoadTracker getLongestRoadTracker() { return longestRoadTracker; }
+    public void setLongestRoadTracker(LongestRoadTracker tracker) { this.longestRoadTracker = tracker; }
+
+    public int getUndoDepth() { return undoDepth; }
+
+    /**
+     * Back to turn 0 with no undo history, after the board, bank and players have been
+     * reset in place. The hash has followed every one of those changes already.
+     */
+    public void reset() {
+        currentRoll = 0;
+        turnNumber = 0;
+        undoDepth = 0;
+    }
+
+    /**
+     * Deep copy for search code that needs its own position, e.g. one per thread. The
+     * board gets fresh occupancy over the same layout (nodes and edges are shared) with the
+     * same pieces placed, and players, bank and longest road state are copied. The undo
+     * stack starts empty.
+     */
+    public GameState copy() {
+        Board boardCopy = new Board(board.getLayout());
+        Player[] playersCopy = new Player[players.length];
+        for (int i = 0; i < players.length; i++) {
+            playersCopy[i] = players[i].copy();
+        }
+        for (Node n : board.getNodes()) {
+            Building b = board.getBuilding(n);
+            if (b == null) continue;
+            Player owner = playersCopy[seatOf(b.getOwner())];
+            if (b instanceof City) {
+                boardCopy.setBuilding(n, owner.getCityPiece());
+            } else if (b instanceof Settlement) {
+                boardCopy.setBuilding(n, owner.getSettlementPiece());
+            } else {
+                throw new IllegalStateException("Unknown building on node " + n.getId());
+            }
+        }
+        for (Edge e : board.getAllEdges()) {
+            Road r = board.getRoad(e);
+            if (r == null) continue;
+            boardCopy.setRoad(e, playersCopy[seatOf(r.getOwner())].getRoadPiece());
+        }
+        ResourceBank bankCopy = new ResourceBank();
+        for (ResourceType r : ResourceType.values()) {
+            bankCopy.setSupply(r, bank.getSupply(r));
+        }
+
+        GameState copy = new GameState(boardCopy, bankCopy, playersCopy);
+        copy.currentRoll = currentRoll;
+        copy.turnNumber = turnNumber;
+        if (longestRoadTracker != null) {
+            copy.longestRoadTracker = longestRoadTracker.copy(players, playersCopy);
+        }
+        return copy;
+    }
+
+    /** Index of p in the players array. */
+    public int seatOf(Player p) {
+        for (int i = 0; i < players.length; i++) {
+            if (players[i] == p) return i;
+        }
+        throw new IllegalArgumentException("Player " + p.getId() + " is not in this game");
+    }
+
+    /** Executes the action for p and remembers how to take it back. */
+    public void apply(Action action, Player p) {
+        if (undoDepth == undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, undoDepth * 2);
+        }
+        UndoEntry entry = undoStack[undoDepth];
+        if (entry == null) {
+            entry = new UndoEntry(players.length);
+            undoStack[undoDepth] = entry;
+        }
+        undoDepth++;
+
+        entry.action = action;
+        entry.player = p;
+        if (longestRoadTracker != null) {
+            entry.holder = longestRoadTracker.getCurrentHolder();
+            entry.lengthCount = longestRoadTracker.saveLengths(entry.lengths);
+        }
+
+        action.execute(this, p);
+
+        if (longestRoadTracker != null) {
+            if (action instanceof BuildRoadAction) {
+                longestRoadTracker.roadBuilt(p, ((BuildRoadAction) action).getTarget(),
+                    players, board, SILENT, 0);
+            } else if (action instanceof BuildSettlementAction) {
+                longestRoadTracker.settlementBuilt(p, ((BuildSettlementAction) action).getTarget(),
+                    players, board, SILENT, 0);
+            }
+        }
+    }
+
+    /** Reverts the most recent apply. */
+    public void undo() {
+        if (undoDepth == 0) {
+            throw new IllegalStateException("Nothing to undo");
+        }
+        UndoEntry entry = undoStack[--undoDepth];
+        if (longestRoadTracker != null) {
+            longestRoadTracker.restore(entry.holder, entry.lengths, entry.lengthCount);
+        }
+        entry.action.undo(this, entry.player);
+        entry.action = null;
+        entry.player = null;
+        entry.holder = null;
+    }
+
+    private static class UndoEntry {
+        Action action;
+        Player player;
+        Player holder;
+        final int[] lengths;
+        int lengthCount;
+
+        UndoEntry(int playerCount) {
+            this.lengths = new int[playerCount];
+        }
+    }
 }
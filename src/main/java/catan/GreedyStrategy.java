@@ -0,0 +1,218 @@
+package catan;
+
+import java.util.List;
+
+/**
+ * Fast rule-of-thumb player: cities first, then settlements, then roads that lead
+ * somewhere, otherwise pass.
+ *
+ * Spots are ranked by pips (the number of dice combinations that hit each adjacent tile,
+ * 5 for a 6 or 8 down to 1 for a 2 or 12) plus a bonus per distinct resource. These
+ * node values only depend on the layout, so they're computed once per layout into an
+ * int[54]. A road is worth the best free settlement spot reachable from its far end
+ * (the one not yet joined to the player's network), minus a penalty per extra step, and
+ * only if that beats what the joined end already reaches. The reach map is MAX_STEPS
+ * in-place relaxation passes over the edges into a preallocated array; it only depends on
+ * the buildings and roads, so it's kept until one of them changes, and a decision on an
+ * unchanged board costs one pass over the legal actions.
+ *
+ * Nothing is allocated per call, and selectId works straight on ActionGenerator ids, so
+ * the same scoring can drive Playout rollouts. Not thread-safe; use one per seat/thread.
+ */
+public class GreedyStrategy implements AgentStrategy {
+    private static final int PIP_WEIGHT = 10;
+    private static final int DIVERSITY_WEIGHT = 6;
+    private static final int STEP_PENALTY = 15;
+    private static final int MAX_STEPS = 4;
+
+    private static final int CITY_BASE = 3000;
+    private static final int SETTLEMENT_BASE = 2000;
+    private static final int ROAD_BASE = 1000;
+    private static final int PASS_SCORE = 500;
+    private static final int UNREACHABLE = Integer.MIN_VALUE / 2;
+
+    private BoardLayout valuedLayout;
+    private final int[] nodeValue = new int[BitBoard.NODE_COUNT];
+    private final int[] reach = new int[BitBoard.NODE_COUNT];
+    private BoardTopology topology;
+
+    // What reach was computed for; any building change bumps the version
+    private BitBoard reachBits;
+    private Player reachPlayer;
+    private int reachVersion;
+    private long reachEdgesLo;
+    private long reachEdgesHi;
+    private long reachRoadsLo;
+    private long reachRoadsHi;
+
+    @Override
+    public Action select(List<Action> options) {
+        // No board in view: just prefer the more valuable kind of build
+        Action best = options.get(0);
+        int bestScore = Integer.MIN_VALUE;
+        for (Action a : options) {
+            int score = classScore(ActionIds.idOf(a));
+            if (score > bestScore) {
+                bestScore = score;
+                best = a;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public Action select(List<Action> options, GameState state, Player self) {
+        prepare(state, self);
+        BitBoard bits = state.getBoard().getBitBoard();
+        Action best = options.get(0);
+        int bestScore = Integer.MIN_VALUE;
+        for (Action a : options) {
+            int score = score(ActionIds.idOf(a), bits, self);
+            if (score > bestScore) {
+                bestScore = score;
+                best = a;
+            }
+        }
+        return best;
+    }
+
+    /** Same choice over ActionGenerator ids; returns the chosen id. */
+    public int selectId(int[] ids, int count, GameState state, Player self) {
+        prepare(state, self);
+        BitBoard bits = state.getBoard().getBitBoard();
+        int best = ids[0];
+        int bestScore = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            int score = score(ids[i], bits, self);
+            if (score > bestScore) {
+                bestScore = score;
+                best = ids[i];
+            }
+        }
+        return best;
+    }
+
+    /** Cached pip/diversity value of a node on the last board seen, for tests and tuning. */
+    public int getNodeValue(int node) {
+        return nodeValue[node];
+    }
+
+    private int score(int id, BitBoard bits, Player self) {
+        if (id >= ActionIds.CITY_BASE && id < ActionIds.PASS) {
+            return CITY_BASE + nodeValue[id - ActionIds.CITY_BASE];
+        }
+        if (id >= ActionIds.SETTLEMENT_BASE && id < ActionIds.CITY_BASE) {
+            return SETTLEMENT_BASE + nodeValue[id - ActionIds.SETTLEMENT_BASE];
+        }
+        if (id < ActionIds.SETTLEMENT_BASE) {
+            int edge = id - ActionIds.ROAD_BASE;
+            int a = topology.getEdgeNodeA(edge);
+            int b = topology.getEdgeNodeB(edge);
+            boolean joinedA = joined(bits, self, a);
+            if (joinedA == joined(bits, self, b)) {
+                // Closes a loop in the network: it opens up nothing new
+                return PASS_SCORE - 1;
+            }
+            int far = joinedA ? reach[b] : reach[a];
+            int near = joinedA ? reach[a] : reach[b];
+            // A road that leads nowhere useful, or not closer to it, isn't worth the cards
+            return far > 0 && far > near ? ROAD_BASE + far : PASS_SCORE - 1;
+        }
+        return PASS_SCORE;
+    }
+
+    // Whether the player's network already reaches the node: same test as BitBoard's road spots
+    private static boolean joined(BitBoard bits, Player self, int node) {
+        long bit = 1L << node;
+        if (((bits.getSettlements(self) | bits.getCities(self)) & bit) != 0) return true;
+        if ((bits.getOccupiedNodes() & bit) != 0) return false;
+        BoardTopology topology = bits.getTopology();
+        return (topology.getNodeEdgesLo(node) & bits.getRoadsLo(self)) != 0
+            || (topology.getNodeEdgesHi(node) & bits.getRoadsHi(self)) != 0;
+    }
+
+    private static int classScore(int id) {
+        if (id == ActionIds.PASS) return PASS_SCORE;
+        if (id >= ActionIds.CITY_BASE) return CITY_BASE;
+        if (id >= ActionIds.SETTLEMENT_BASE) return SETTLEMENT_BASE;
+        return PASS_SCORE - 1;
+    }
+
+    private void prepare(GameState state, Player self) {
+        Board board = state.getBoard();
+        BitBoard bits = board.getBitBoard();
+        if (board.getLayout() != valuedLayout) {
+            computeNodeValues(board);
+            reachBits = null;
+        }
+        long roadsLo = bits.getRoadsLo(self);
+        long roadsHi = bits.getRoadsHi(self);
+        if (bits != reachBits || self != reachPlayer
+                || bits.getBuildingVersion() != reachVersion
+                || bits.getOccupiedEdgesLo() != reachEdgesLo
+                || bits.getOccupiedEdgesHi() != reachEdgesHi
+                || roadsLo != reachRoadsLo || roadsHi != reachRoadsHi) {
+            computeReach(bits, self);
+            reachBits = bits;
+            reachPlayer = self;
+            reachVersion = bits.getBuildingVersion();
+            reachEdgesLo = bits.getOccupiedEdgesLo();
+            reachEdgesHi = bits.getOccupiedEdgesHi();
+            reachRoadsLo = roadsLo;
+            reachRoadsHi = roadsHi;
+        }
+    }
+
+    private void computeNodeValues(Board board) {
+        for (Node n : board.getNodes()) {
+            int pips = 0;
+            int resources = 0;
+            for (Tile t : n.getAdjacentTiles()) {
+                ResourceType r = board.getProducedResource(t);
+                if (r == null) continue;
+                pips += 6 - Math.abs(7 - board.getToken(t));
+                resources |= 1 << r.ordinal();
+            }
+            nodeValue[n.getId()] = PIP_WEIGHT * pips
+                + DIVERSITY_WEIGHT * Integer.bitCount(resources);
+        }
+        topology = board.getTopology();
+        valuedLayout = board.getLayout();
+    }
+
+    /**
+     * reach[n] = best value of a free settlement spot reachable from n, less STEP_PENALTY
+     * per edge walked, moving only along free or own edges and never through an
+     * opponent's building.
+     *
+     * Each pass relaxes every edge once, updating reach in place, so a pass carries a value
+     * at least one edge and, when edge ids happen to line up along the path, further. Spots
+     * within MAX_STEPS edges are always counted; some further away are too. The penalty per
+     * edge is the same either way, so a far spot only wins if it is worth the extra steps.
+     */
+    private void computeReach(BitBoard bits, Player self) {
+        long occupied = bits.getOccupiedNodes();
+        long own = bits.getSettlements(self) | bits.getCities(self);
+        for (int n = 0; n < BitBoard.NODE_COUNT; n++) {
+            boolean spot = (occupied & ((1L << n) | bits.getNeighborMask(n))) == 0;
+            reach[n] = spot ? nodeValue[n] : UNREACHABLE;
+        }
+        long roadsLo = bits.getRoadsLo(self);
+        long roadsHi = bits.getRoadsHi(self);
+        for (int step = 0; step < MAX_STEPS; step++) {
+            for (int e = 0; e < topology.getEdgeCount(); e++) {
+                boolean ownRoad = e < 64
+                    ? (roadsLo & (1L << e)) != 0
+                    : (roadsHi & (1L << (e - 64))) != 0;
+                if (bits.isEdgeOccupied(e) && !ownRoad) continue;
+                int a = topology.getEdgeNodeA(e);
+                int b = topology.getEdgeNodeB(e);
+                // An opponent's building stops the path at that node
+                boolean aOpen = (occupied & (1L << a)) == 0 || (own & (1L << a)) != 0;
+                boolean bOpen = (occupied & (1L << b)) == 0 || (own & (1L << b)) != 0;
+                if (bOpen) reach[a] = Math.max(reach[a], reach[b] - STEP_PENALTY);
+                if (aOpen) reach[b] = Math.max(reach[b], reach[a] - STEP_PENALTY);
+            }
+        }
+    }
+}
@@ -1,28 +1,133 @@
 package catan;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Arrays;
 
 /**
  * Tracks longest road for each player and awards/removes 2 VP accordingly.
  * A player needs at least 5 continuous road segments to claim longest road.
  * Roads are blocked by opponent buildings (settlements/cities) at intermediate nodes.
+ *
+ * Each player's longest length is cached. A new road can only lengthen the road network
+ * it joins, so only that network is searched; a new settlement can only cut opponent
+ * roads passing through its node, so only those opponents are recounted.
  */
 public class LongestRoadTracker {
     private Player currentHolder;
+    private Player[] cachedPlayers = new Player[0];
+    private int[] cachedLengths = new int[0];
 
     public Player getCurrentHolder() { return currentHolder; }
 
+    /** Forgets the holder and every cached length, for a new game with the same players. */
+    public void reset() {
+        currentHolder = null;
+        Arrays.fill(cachedLengths, 0);
+    }
+
+    /**
+     * Copy for a copied game: from[i] in this tracker becomes to[i] in the result.
+     * No VP is awarded, since the copied players already carry the bonus.
+     */
+    public LongestRoadTracker copy(Player[] from, Player[] to) {
+        LongestRoadTracker copy = new LongestRoadTracker();
+        if (currentHolder != null) {
+            copy.currentHolder = to[indexOf(from, currentHolder)];
+        }
+        if (cacheMatches(from)) {
+            copy.cachedPlayers = to.clone();
+            copy.cachedLengths = cachedLengths.clone();
+        }
+        return copy;
+    }
+
+    /** Copies the cached per-player lengths into dest and returns how many there are. */
+    public int saveLengths(int[] dest) {
+        System.arraycopy(cachedLengths, 0, dest, 0, cachedLengths.length);
+        return cachedLengths.length;
+    }
+
+    /**
+     * Puts back a holder and cached lengths saved earlier, moving the 2 VP bonus back
+     * to the old holder if it changed hands since.
+     */
+    public void restore(Player holder, int[] lengths, int count) {
+        if (count == cachedLengths.length) {
+            System.arraycopy(lengths, 0, cachedLengths, 0, count);
+        } else {
+            // Saved before the cache was set up; drop it so the next call recounts everyone
+            cachedPlayers = new Player[0];
+            cachedLengths = new int[0];
+        }
+        if (holder != currentHolder) {
+            if (currentHolder != null) currentHolder.removeVP(2);
+            if (holder != null) holder.addVP(2);
+            currentHolder = holder;
+        }
+    }
+
     /**
      * Recalculates longest road for all players and updates VP.
-     * Call this after any road is built or settlement/city is placed.
+     * Used after setup, or whenever the cache can't be trusted.
      */
     public void update(Player[] players, Board board, ActionLogger logger, int round) {
+        if (!cacheMatches(players)) {
+            cachedPlayers = players.clone();
+            cachedLengths = new int[players.length];
+        }
+        for (int i = 0; i < players.length; i++) {
+            cachedLengths[i] = calculateLongestRoad(players[i], board);
+        }
+        awardHolder(players, logger, round);
+    }
+
+    /**
+     * Call after a road is placed. Only the road network containing the new edge is searched.
+     */
+    public void roadBuilt(Player owner, Edge edge, Player[] players, Board board,
+                          ActionLogger logger, int round) {
+        if (!cacheMatches(players)) {
+            update(players, board, logger, round);
+            return;
+        }
+        int i = indexOf(players, owner);
+        int length = longestInNetwork(owner, edge, board);
+        if (length > cachedLengths[i]) {
+            cachedLengths[i] = length;
+        }
+        awardHolder(players, logger, round);
+    }
+
+    /**
+     * Call after a settlement is placed. Opponents with two or more roads meeting at the
+     * node may have had a road cut in two, so just those players are recounted.
+     */
+    public void settlementBuilt(Player owner, Node node, Player[] players, Board board,
+                                ActionLogger logger, int round) {
+        if (!cacheMatches(players)) {
+            update(players, board, logger, round);
+            return;
+        }
+        for (int i = 0; i < players.length; i++) {
+            Player p = players[i];
+            if (p == owner) continue;
+            int touching = 0;
+            for (Edge e : node.getIncidentEdges()) {
+                if (ownsRoad(board, e, p)) touching++;
+            }
+            if (touching >= 2) {
+                cachedLengths[i] = calculateLongestRoad(p, board);
+            }
+        }
+        awardHolder(players, logger, round);
+    }
+
+    private void awardHolder(Player[] players, ActionLogger logger, int round) {
         Player newHolder = null;
         int longestLength = 4; // Must be at least 5 to claim
 
-        for (Player p : players) {
-            int roadLength = calculateLongestRoad(p, board);
+        for (int i = 0; i < players.length; i++) {
+            Player p = players[i];
+            int roadLength = cachedLengths[i];
             if (roadLength > longestLength) {
                 longestLength = roadLength;
                 newHolder = p;
@@ -36,66 +141,114 @@ public class LongestRoadTracker {
         if (newHolder != currentHolder) {
             if (currentHolder != null) {
                 currentHolder.removeVP(2);
-                if (round > 0) {
-                    logger.logAction(round, currentHolder.getId(),
-                        "loses Longest Road (-2 VP)");
-                }
             }
             if (newHolder != null) {
                 newHolder.addVP(2);
-                if (round > 0) {
-                    logger.logAction(round, newHolder.getId(),
-                        "claims Longest Road! (+2 VP, road length: " + longestLength + ")");
-                }
+            }
+            if (round > 0) {
+                logger.logLongestRoad(round, currentHolder, newHolder, longestLength);
             }
             currentHolder = newHolder;
         }
     }
 
+    private boolean cacheMatches(Player[] players) {
+        if (cachedPlayers.length != players.length) return false;
+        for (int i = 0; i < players.length; i++) {
+            if (cachedPlayers[i] != players[i]) return false;
+        }
+        return true;
+    }
+
+    private int indexOf(Player[] players, Player p) {
+        for (int i = 0; i < players.length; i++) {
+            if (players[i] == p) return i;
+        }
+        throw new IllegalArgumentException("Player " + p.getId() + " is not in this game");
+    }
+
     /**
      * Calculates the longest continuous road for a player using DFS.
      * Roads are broken at nodes occupied by other players' buildings.
      */
     public int calculateLongestRoad(Player player, Board board) {
         int maxLength = 0;
+        for (Node start : board.getNodes()) {
+            if (hasRoadAt(player, start, board)) {
+                maxLength = Math.max(maxLength, dfs(player, board, start, true, 0L, 0L));
+            }
+        }
+        return maxLength;
+    }
 
-        for (Edge edge : board.getAllEdges()) {
-            if (edge.isOccupied() && edge.getRoad().getOwner() == player) {
-                // Try starting DFS from each end of this edge
-                Set<Edge> visited = new HashSet<>();
-                visited.add(edge);
-                int fromA = dfs(player, edge.getA(), visited, board);
-                int fromB = dfs(player, edge.getB(), visited, board);
-                maxLength = Math.max(maxLength, 1 + fromA + fromB);
-                // Also try just from one end
-                visited.clear();
-                visited.add(edge);
-                maxLength = Math.max(maxLength, 1 + dfs(player, edge.getA(), visited, board));
-                visited.clear();
-                visited.add(edge);
-                maxLength = Math.max(maxLength, 1 + dfs(player, edge.getB(), visited, board));
+    /**
+     * Longest road within the network that contains the given edge: flood fill the
+     * network's nodes, then run the same DFS from each of them.
+     */
+    private int longestInNetwork(Player player, Edge edge, Board board) {
+        long networkNodes = 0L;
+        long frontier = (1L << edge.getA().getId()) | (1L << edge.getB().getId());
+        while (frontier != 0) {
+            int id = Long.numberOfTrailingZeros(frontier);
+            frontier &= frontier - 1;
+            networkNodes |= 1L << id;
+            Node node = board.getNode(id);
+            // Opponent buildings end the network here; the road can't continue through
+            if (isBlocked(player, node, board)) continue;
+            for (Edge e : node.getIncidentEdges()) {
+                if (ownsRoad(board, e, player)) {
+                    long next = 1L << e.getOtherNode(node).getId();
+                    if ((networkNodes & next) == 0) frontier |= next;
+                }
             }
         }
 
+        int maxLength = 0;
+        while (networkNodes != 0) {
+            int id = Long.numberOfTrailingZeros(networkNodes);
+            networkNodes &= networkNodes - 1;
+            maxLength = Math.max(maxLength, dfs(player, board, board.getNode(id), true, 0L, 0L));
+        }
         return maxLength;
     }
 
-    private int dfs(Player player, Node node, Set<Edge> visited, Board board) {
-        // Can't pass through opponent buildings
-        if (node.isOccupied() && node.getOwner() != player) {
+    // Visited edges are carried as a 72-bit set in two longs, so the search never allocates
+    private int dfs(Player player, Board board, Node node, boolean start,
+                    long visitedLo, long visitedHi) {
+        // Can't pass through opponent buildings, though a road may start at one
+        if (!start && isBlocked(player, node, board)) {
             return 0;
         }
 
         int maxLength = 0;
         for (Edge e : node.getIncidentEdges()) {
-            if (!visited.contains(e) && e.isOccupied() && e.getRoad().getOwner() == player) {
-                visited.add(e);
-                Node otherNode = e.getOtherNode(node);
-                int length = 1 + dfs(player, otherNode, visited, board);
+            int id = e.getId();
+            boolean visited = id < 64
+                ? (visitedLo & (1L << id)) != 0
+                : (visitedHi & (1L << (id - 64))) != 0;
+            if (!visited && ownsRoad(board, e, player)) {
+                long lo = id < 64 ? visitedLo | (1L << id) : visitedLo;
+                long hi = id < 64 ? visitedHi : visitedHi | (1L << (id - 64));
+                int length = 1 + dfs(player, board, e.getOtherNode(node), false, lo, hi);
                 maxLength = Math.max(maxLength, length);
-                visited.remove(e);
             }
         }
         return maxLength;
     }
+
+    private boolean isBlocked(Player player, Node node, Board board) {
+        return board.isOccupied(node) && board.getOwner(node) != player;
+    }
+
+    private boolean hasRoadAt(Player player, Node node, Board board) {
+        for (Edge e : node.getIncidentEdges()) {
+            if (ownsRoad(board, e, player)) return true;
+        }
+        return false;
+    }
+
+    private static boolean ownsRoad(Board board, Edge e, Player player) {
+        Road road = board.getRoad(e);
+        return road != null && road.getOwner() == player;
+    }
 }
@@ -0,0 +1,235 @@
+package catan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Monte Carlo tree search over the builds left in the current turn.
+ *
+ * Each iteration walks the tree with UCT, applying moves to the real GameState with
+ * GameState.apply, expands one new move, then finishes with a playout of the rest of this
+ * turn and a fixed number of following turns (see Playout). Playouts pick moves at random,
+ * or with a GreedyStrategy when greedy rollouts are asked for. Everything is undone before
+ * the next iteration, so the game never sees the search.
+ *
+ * Game.playTurn asks for one action at a time within a turn, so the subtree under the
+ * chosen move is kept and becomes the root for the next call in the same turn.
+ *
+ * With a TranspositionTable, every node also records its playouts under the position's
+ * Zobrist hash, and UCT takes a child's mean from the table. Different build orders that
+ * reach the same position then share one estimate.
+ */
+public class MctsStrategy implements AgentStrategy {
+    private static final double EXPLORATION = 1.0;
+    // Mixed into the key of a pass node: same position, but the turn is over
+    private static final long TURN_OVER_KEY = 0x6A09E667F3BCC909L;
+
+    private final int iterations;
+    private final long timeBudgetNanos;
+    private final int playoutTurns;
+    private final SplittableRandom rng;
+    private final TranspositionTable table;
+    // Null for uniformly random rollouts
+    private final GreedyStrategy rolloutPolicy;
+
+    private Playout playout;
+    private TreeNode root;
+    private int rootTurn = -1;
+    private Player rootPlayer;
+
+    /**
+     * @param iterations   playouts per decision (0 for no limit, then the time budget decides)
+     * @param timeBudgetMs wall-clock limit per decision in milliseconds (0 for no limit)
+     * @param playoutTurns how many turns after this one a playout simulates
+     */
+    public MctsStrategy(int iterations, long timeBudgetMs, int playoutTurns, long seed) {
+        this(iterations, timeBudgetMs, playoutTurns, seed, null);
+    }
+
+    /** @param table shared playout statistics by position, or null to search without one */
+    public MctsStrategy(int iterations, long timeBudgetMs, int playoutTurns, long seed,
+                        TranspositionTable table) {
+        this(iterations, timeBudgetMs, playoutTurns, seed, table, false);
+    }
+
+    /** @param greedyRollouts play out with a GreedyStrategy instead of random moves */
+    public MctsStrategy(int iterations, long timeBudgetMs, int playoutTurns, long seed,
+                        TranspositionTable table, boolean greedyRollouts) {
+        if (iterations <= 0 && timeBudgetMs <= 0) {
+            throw new IllegalArgumentException("Need an iteration limit or a time budget");
+        }
+        this.iterations = iterations;
+        this.timeBudgetNanos = timeBudgetMs * 1_000_000L;
+        this.playoutTurns = playoutTurns;
+        this.rng = new SplittableRandom(seed);
+        this.table = table;
+        this.rolloutPolicy = greedyRollouts ? new GreedyStrategy() : null;
+    }
+
+    public MctsStrategy(int iterations, long seed) {
+        this(iterations, 0, 40, seed);
+    }
+
+    // Without the game state there is nothing to search, so fall back to a random pick
+    @Override
+    public Action select(List<Action> options) {
+        return options.get(rng.nextInt(options.size()));
+    }
+
+    @Override
+    public Action select(List<Action> options, GameState state, Player self) {
+        if (options.size() == 1) {
+            advanceRoot(null, state, self);
+            return options.get(0);
+        }
+        if (playout == null || playout.getState() != state) {
+            playout = new Playout(state, rng, rolloutPolicy);
+            root = null;
+        }
+        if (root == null || rootTurn != state.getTurnNumber() || rootPlayer != self) {
+            root = new TreeNode(-1, null);
+        }
+
+        long deadline = timeBudgetNanos > 0 ? System.nanoTime() + timeBudgetNanos : Long.MAX_VALUE;
+        search(self, deadline);
+
+        TreeNode best = root.mostVisitedChild();
+        Action chosen = best == null ? null : ActionIds.find(options, best.actionId);
+        if (chosen == null) {
+            chosen = options.get(rng.nextInt(options.size()));
+        }
+        advanceRoot(chosen, state, self);
+        return chosen;
+    }
+
+    /**
+     * Searches a fresh tree from state until the iteration limit or deadline and adds each
+     * root move's visit count into visitsById (indexed by ActionIds). Nothing is kept for
+     * the next call. ParallelMctsStrategy runs one of these per thread on its own copy.
+     */
+    public void searchRoot(GameState state, Player self, long deadline, int[] visitsById) {
+        playout = new Playout(state, rng, rolloutPolicy);
+        root = new TreeNode(-1, null);
+        search(self, deadline);
+        for (TreeNode c : root.children) {
+            visitsById[c.actionId] += c.visits;
+        }
+        playout = null;
+        root = null;
+    }
+
+    private void search(Player self, long deadline) {
+        playout.save();
+        for (int i = 0; (iterations <= 0 || i < iterations) && System.nanoTime() < deadline; i++) {
+            iterate(self);
+            playout.restore();
+        }
+    }
+
+    /** Visit count of the current root, mostly for tests and tuning. */
+    public int getRootVisits() {
+        return root == null ? 0 : root.visits;
+    }
+
+    private void advanceRoot(Action chosen, GameState state, Player self) {
+        TreeNode child = (chosen == null || root == null)
+            ? null : root.child(ActionIds.idOf(chosen));
+        if (child == null || chosen instanceof PassAction) {
+            root = null;
+            return;
+        }
+        child.parent = null;
+        root = child;
+        rootTurn = state.getTurnNumber();
+        rootPlayer = self;
+    }
+
+    private void iterate(Player self) {
+        GameState state = playout.getState();
+        TreeNode node = root;
+        boolean turnOver = false;
+
+        // Selection and expansion, moving the real state along
+        while (true) {
+            if (node.untried == null) {
+                node.untried = new ArrayList<>(playout.legalActions(self));
+            }
+            if (!node.untried.isEmpty()) {
+                Action a = node.untried.remove(rng.nextInt(node.untried.size()));
+                node = node.addChild(ActionIds.idOf(a));
+                turnOver = a instanceof PassAction;
+                if (!turnOver) state.apply(a, self);
+                node.key = turnOver ? state.getHash() ^ TURN_OVER_KEY : state.getHash();
+                break;
+            }
+            TreeNode next = node.selectChild(table);
+            if (next == null) break;
+            node = next;
+            if (node.actionId == ActionIds.PASS) {
+                turnOver = true;
+                break;
+            }
+            state.apply(state.getBoard().getActionSpace().get(node.actionId), self);
+        }
+
+        double reward = playout.run(self, self, turnOver, playoutTurns);
+        for (TreeNode n = node; n != null; n = n.parent) {
+            n.visits++;
+            n.value += reward;
+            if (table != null && n.parent != null) table.record(n.key, reward);
+        }
+    }
+
+    private static final class TreeNode {
+        final int actionId;
+        long key;
+        TreeNode parent;
+        List<Action> untried;
+        final List<TreeNode> children = new ArrayList<>();
+        int visits;
+        double value;
+
+        TreeNode(int actionId, TreeNode parent) {
+            this.actionId = actionId;
+            this.parent = parent;
+        }
+
+        TreeNode addChild(int id) {
+            TreeNode child = new TreeNode(id, this);
+            children.add(child);
+            return child;
+        }
+
+        TreeNode child(int id) {
+            for (TreeNode c : children) {
+                if (c.actionId == id) return c;
+            }
+            return null;
+        }
+
+        TreeNode selectChild(TranspositionTable table) {
+            TreeNode best = null;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            double logVisits = Math.log(Math.max(1, visits));
+            for (TreeNode c : children) {
+                double mean = table == null ? Double.NaN : table.mean(c.key);
+                if (Double.isNaN(mean)) mean = c.value / c.visits;
+                double score = mean + EXPLORATION * Math.sqrt(logVisits / c.visits);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = c;
+                }
+            }
+            return best;
+        }
+
+        TreeNode mostVisitedChild() {
+            TreeNode best = null;
+            for (TreeNode c : children) {
+                if (best == null || c.visits > best.visits) best = c;
+            }
+            return best;
+        }
+    }
+}
@@ -1,45 +1,32 @@
 package catan;
 
 import java.util.List;
-import java.util.ArrayList;
 
+/**
+ * A corner of the board. Nodes belong to a BoardTopology and are shared by every Board
+ * of that shape, so a node only knows where it is; what stands on it is up to each
+ * Board (see Board.getBuilding).
+ */
 public class Node {
     private final int id;
-    private Building building;
-    private final List<Edge> incidentEdges;
-    private final List<Tile> adjacentTiles;
+    private List<Edge> incidentEdges;
+    private List<Tile> adjacentTiles;
 
-    public Node(int id) {
+    Node(int id) {
         this.id = id;
-        this.incidentEdges = new ArrayList<>();
-        this.adjacentTiles = new ArrayList<>();
     }
 
-    public int getId() { return id; }
-
-    public Building getBuilding() { return building; }
-
-    public void setBuilding(Building building) { this.building = building; }
-
-    public boolean isOccupied() { return building != null; }
-
-    public Player getOwner() {
-        return building != null ? building.getOwner() : null;
+    // Wired up once by the topology, after every node, edge and tile exists
+    void link(List<Edge> incidentEdges, List<Tile> adjacentTiles) {
+        this.incidentEdges = incidentEdges;
+        this.adjacentTiles = adjacentTiles;
     }
 
+    public int getId() { return id; }
+
+    /** Edges at this node, unmodifiable. */
     public List<Edge> getIncidentEdges() { return incidentEdges; }
 
+    /** Tiles this node is a corner of, unmodifiable. */
     public List<Tile> getAdjacentTiles() { return adjacentTiles; }
-
-    public void addIncidentEdge(Edge edge) {
-        if (!incidentEdges.contains(edge)) {
-            incidentEdges.add(edge);
-        }
-    }
-
-    public void addAdjacentTile(Tile tile) {
-        if (!adjacentTiles.contains(tile)) {
-            adjacentTiles.add(tile);
-        }
-    }
 }
@@ -0,0 +1,291 @@
+package catan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MCTS over the current turn spread across several threads.
+ *
+ * Search mutates the state it runs on, so every thread works on its own GameState.copy()
+ * of the position. Two ways of combining the threads:
+ *
+ * ROOT - each thread grows its own MctsStrategy tree; root visit counts are summed per
+ * action id and the most visited move wins. Threads never touch shared data.
+ *
+ * TREE - all threads grow one tree. Visits and values are atomic counters, expansion
+ * locks only the node being expanded, and a thread adds a virtual loss to every node on
+ * its path before the playout so the others spread out instead of piling onto the same
+ * line.
+ *
+ * Copies are made per decision, so unlike MctsStrategy no subtree is carried over.
+ */
+public class ParallelMctsStrategy implements AgentStrategy {
+    public enum Mode { ROOT, TREE }
+
+    private static final double EXPLORATION = 1.0;
+    private static final int VIRTUAL_LOSS = 3;
+    // Rewards are in [0, 1]; the tree stores them as fixed point so they fit an AtomicLong
+    private static final double VALUE_SCALE = 1_000_000.0;
+
+    private final Mode mode;
+    private final int threads;
+    private final int iterations;
+    private final long timeBudgetNanos;
+    private final int playoutTurns;
+    private final boolean greedyRollouts;
+    private final SplittableRandom rng;
+    private ExecutorService pool;
+    private int lastVisits;
+
+    /**
+     * @param threads      worker threads (and state copies) per decision
+     * @param iterations   playouts per decision across all threads (0 for no limit)
+     * @param timeBudgetMs wall-clock limit per decision in milliseconds (0 for no limit)
+     * @param playoutTurns how many turns after this one a playout simulates
+     */
+    public ParallelMctsStrategy(Mode mode, int threads, int iterations, long timeBudgetMs,
+                                int playoutTurns, long seed) {
+        this(mode, threads, iterations, timeBudgetMs, playoutTurns, seed, false);
+    }
+
+    /**
+     * @param greedyRollouts play out with a GreedyStrategy instead of random moves; each
+     *                       thread gets its own, since GreedyStrategy is not thread-safe
+     */
+    public ParallelMctsStrategy(Mode mode, int threads, int iterations, long timeBudgetMs,
+                                int playoutTurns, long seed, boolean greedyRollouts) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Need at least one thread");
+        }
+        if (iterations <= 0 && timeBudgetMs <= 0) {
+            throw new IllegalArgumentException("Need an iteration limit or a time budget");
+        }
+        this.mode = mode;
+        this.threads = threads;
+        this.iterations = iterations;
+        this.timeBudgetNanos = timeBudgetMs * 1_000_000L;
+        this.playoutTurns = playoutTurns;
+        this.greedyRollouts = greedyRollouts;
+        this.rng = new SplittableRandom(seed);
+    }
+
+    // Without the game state there is nothing to search, so fall back to a random pick
+    @Override
+    public Action select(List<Action> options) {
+        return options.get(rng.nextInt(options.size()));
+    }
+
+    @Override
+    public Action select(List<Action> options, GameState state, Player self) {
+        if (options.size() == 1) {
+            return options.get(0);
+        }
+        long deadline = timeBudgetNanos > 0 ? System.nanoTime() + timeBudgetNanos : Long.MAX_VALUE;
+        int seat = state.seatOf(self);
+        int[] visitsById = mode == Mode.ROOT
+            ? searchRootParallel(state, seat, deadline)
+            : searchTreeParallel(state, seat, deadline);
+
+        int bestId = -1;
+        lastVisits = 0;
+        for (int id = 0; id < visitsById.length; id++) {
+            lastVisits += visitsById[id];
+            if (visitsById[id] > 0 && (bestId < 0 || visitsById[id] > visitsById[bestId])) {
+                bestId = id;
+            }
+        }
+        Action chosen = bestId < 0 ? null : ActionIds.find(options, bestId);
+        return chosen != null ? chosen : options.get(rng.nextInt(options.size()));
+    }
+
+    /** Root-level visits summed over all threads in the last decision. */
+    public int getLastVisits() {
+        return lastVisits;
+    }
+
+    /** Stops the worker threads. They are daemons, so this is only needed to free them early. */
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+            pool = null;
+        }
+    }
+
+    private int[] searchRootParallel(GameState state, int seat, long deadline) {
+        int perThread = iterations <= 0 ? 0 : (iterations + threads - 1) / threads;
+        List<Runnable> jobs = new ArrayList<>();
+        List<int[]> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            GameState copy = state.copy();
+            MctsStrategy worker = new MctsStrategy(perThread, timeBudgetNanos / 1_000_000L,
+                playoutTurns, rng.nextLong(), null, greedyRollouts);
+            int[] visits = new int[ActionIds.COUNT];
+            results.add(visits);
+            jobs.add(() -> worker.searchRoot(copy, copy.getPlayers()[seat], deadline, visits));
+        }
+        runAll(jobs);
+
+        int[] merged = new int[ActionIds.COUNT];
+        for (int[] visits : results) {
+            for (int id = 0; id < merged.length; id++) {
+                merged[id] += visits[id];
+            }
+        }
+        return merged;
+    }
+
+    private int[] searchTreeParallel(GameState state, int seat, long deadline) {
+        SharedNode root = new SharedNode(-1, null);
+        AtomicInteger remaining = new AtomicInteger(iterations <= 0 ? Integer.MAX_VALUE : iterations);
+        List<Runnable> jobs = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            GameState copy = state.copy();
+            SplittableRandom threadRng = rng.split();
+            jobs.add(() -> {
+                Playout playout = new Playout(copy, threadRng,
+                    greedyRollouts ? new GreedyStrategy() : null);
+                Player me = copy.getPlayers()[seat];
+                playout.save();
+                while (remaining.getAndDecrement() > 0 && System.nanoTime() < deadline) {
+                    iterate(root, playout, me, threadRng);
+                    playout.restore();
+                }
+            });
+        }
+        runAll(jobs);
+
+        int[] visitsById = new int[ActionIds.COUNT];
+        for (SharedNode c : root.children) {
+            visitsById[c.actionId] = c.visits.get();
+        }
+        return visitsById;
+    }
+
+    private void iterate(SharedNode root, Playout playout, Player me, SplittableRandom threadRng) {
+        GameState state = playout.getState();
+        SharedNode node = root;
+        node.visits.addAndGet(VIRTUAL_LOSS);
+        boolean turnOver = false;
+
+        while (true) {
+            // Moves are only needed the first time a node is expanded
+            List<Action> legal = node.hasMoves() ? null : playout.legalActions(me);
+            SharedNode added = node.expand(legal, threadRng);
+            if (added != null) {
+                node = added;
+                turnOver = node.actionId == ActionIds.PASS;
+                if (!turnOver) state.apply(state.getBoard().getActionSpace().get(node.actionId), me);
+                break;
+            }
+            SharedNode next = node.selectChild();
+            if (next == null) break;
+            next.visits.addAndGet(VIRTUAL_LOSS);
+            node = next;
+            if (node.actionId == ActionIds.PASS) {
+                turnOver = true;
+                break;
+            }
+            state.apply(state.getBoard().getActionSpace().get(node.actionId), me);
+        }
+
+        long reward = Math.round(playout.run(me, me, turnOver, playoutTurns) * VALUE_SCALE);
+        // Swap the virtual loss for the real result
+        for (SharedNode n = node; n != null; n = n.parent) {
+            n.value.addAndGet(reward);
+            n.visits.addAndGet(1 - VIRTUAL_LOSS);
+        }
+    }
+
+    private void runAll(List<Runnable> jobs) {
+        if (pool == null) {
+            pool = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "mcts-worker");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        List<Future<?>> futures = new ArrayList<>();
+        for (Runnable job : jobs) {
+            futures.add(pool.submit(job));
+        }
+        try {
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during search", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search thread failed", e.getCause());
+        }
+    }
+
+    private static final class SharedNode {
+        final int actionId;
+        final SharedNode parent;
+        final AtomicInteger visits = new AtomicInteger();
+        final AtomicLong value = new AtomicLong();
+        // Replaced, never modified, so readers can walk it without the lock
+        volatile SharedNode[] children = new SharedNode[0];
+        // Set once, under the lock, and never cleared
+        private volatile int[] untried;
+        private int untriedCount;
+
+        SharedNode(int actionId, SharedNode parent) {
+            this.actionId = actionId;
+            this.parent = parent;
+        }
+
+        /** Whether the node already knows its moves, so expand() needs no legal list. */
+        boolean hasMoves() {
+            return untried != null;
+        }
+
+        /**
+         * Adds a child for a random untried move, or returns null if none are left. legal is
+         * only read the first time, and may be null once hasMoves() is true.
+         */
+        synchronized SharedNode expand(List<Action> legal, SplittableRandom threadRng) {
+            if (untried == null) {
+                int[] moves = new int[legal.size()];
+                for (Action a : legal) {
+                    moves[untriedCount++] = ActionIds.idOf(a);
+                }
+                untried = moves;
+            }
+            if (untriedCount == 0) return null;
+            int pick = threadRng.nextInt(untriedCount);
+            SharedNode child = new SharedNode(untried[pick], this);
+            untried[pick] = untried[--untriedCount];
+            child.visits.set(VIRTUAL_LOSS);
+
+            SharedNode[] grown = new SharedNode[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, children.length);
+            grown[children.length] = child;
+            children = grown;
+            return child;
+        }
+
+        SharedNode selectChild() {
+            SharedNode best = null;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            double logVisits = Math.log(Math.max(1, visits.get()));
+            for (SharedNode c : children) {
+                int n = Math.max(1, c.visits.get());
+                double score = c.value.get() / VALUE_SCALE / n + EXPLORATION * Math.sqrt(logVisits / n);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = c;
+                }
+            }
+            return best;
+        }
+    }
+}
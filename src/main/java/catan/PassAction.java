@@ -12,7 +12,12 @@ public class PassAction implements Action {
     }
 
     @Override
-    public String describe() {
+    public void undo(GameState state, Player p) {
+        // Nothing to undo
+    }
+
+    @Override
+    public String describe(Board board) {
         return "passes";
     }
 }
@@ -1,28 +1,68 @@
 package catan;
 
 public class PiecePool {
+    private static final int ROADS = 15;
+    private static final int SETTLEMENTS = 5;
+    private static final int CITIES = 4;
+
     private int roadsRemaining;
     private int settlementsRemaining;
     private int citiesRemaining;
+    private ZobristHash hash;
+    private int hashSlot;
 
     public PiecePool() {
-        this.roadsRemaining = 15;
-        this.settlementsRemaining = 5;
-        this.citiesRemaining = 4;
+        this.roadsRemaining = ROADS;
+        this.settlementsRemaining = SETTLEMENTS;
+        this.citiesRemaining = CITIES;
+    }
+
+    /** Back to a full set of pieces, reported to the hash like any other change. */
+    public void reset() {
+        roadsRemaining = changed(ZobristHash.ROAD_PIECE, roadsRemaining, ROADS - roadsRemaining);
+        settlementsRemaining = changed(ZobristHash.SETTLEMENT_PIECE, settlementsRemaining,
+            SETTLEMENTS - settlementsRemaining);
+        citiesRemaining = changed(ZobristHash.CITY_PIECE, citiesRemaining, CITIES - citiesRemaining);
     }
 
+    void attachHash(ZobristHash hash, int slot) {
+        this.hash = hash;
+        this.hashSlot = slot;
+    }
+
+    boolean hasHash() { return hash != null; }
+
     public boolean hasRoad() { return roadsRemaining > 0; }
-    public void takeRoad() { roadsRemaining--; }
+    public void takeRoad() { roadsRemaining = changed(ZobristHash.ROAD_PIECE, roadsRemaining, -1); }
 
     public boolean hasSettlement() { return settlementsRemaining > 0; }
-    public void takeSettlement() { settlementsRemaining--; }
+    public void takeSettlement() {
+        settlementsRemaining = changed(ZobristHash.SETTLEMENT_PIECE, settlementsRemaining, -1);
+    }
 
     public boolean hasCity() { return citiesRemaining > 0; }
-    public void takeCity() { citiesRemaining--; }
+    public void takeCity() { citiesRemaining = changed(ZobristHash.CITY_PIECE, citiesRemaining, -1); }
+
+    public void returnSettlement() {
+        settlementsRemaining = changed(ZobristHash.SETTLEMENT_PIECE, settlementsRemaining, 1);
+    }
+    public void returnRoad() { roadsRemaining = changed(ZobristHash.ROAD_PIECE, roadsRemaining, 1); }
+    public void returnCity() { citiesRemaining = changed(ZobristHash.CITY_PIECE, citiesRemaining, 1); }
 
-    public void returnSettlement() { settlementsRemaining++; }
+    public PiecePool copy() {
+        PiecePool copy = new PiecePool();
+        copy.roadsRemaining = roadsRemaining;
+        copy.settlementsRemaining = settlementsRemaining;
+        copy.citiesRemaining = citiesRemaining;
+        return copy;
+    }
 
     public int roadsRemaining() { return roadsRemaining; }
     public int settlementsRemaining() { return settlementsRemaining; }
     public int citiesRemaining() { return citiesRemaining; }
+
+    private int changed(int kind, int before, int delta) {
+        if (hash != null) hash.piecesChanged(hashSlot, kind, before, before + delta);
+        return before + delta;
+    }
 }
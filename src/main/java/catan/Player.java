@@ -6,8 +6,12 @@ public class Player {
     private final int id;
     private final ResourceInventory hand;
     private final PiecePool pieces;
-    private final AgentStrategy strategy;
+    private AgentStrategy strategy;
     private int victoryPoints;
+    // Shared pieces placed on every node/edge this player builds on
+    private final Settlement settlementPiece = new Settlement(this);
+    private final City cityPiece = new City(this);
+    private final Road roadPiece = new Road(this);
 
     public Player(int id, AgentStrategy strategy) {
         this.id = id;
@@ -17,6 +21,33 @@ public class Player {
         this.victoryPoints = 0;
     }
 
+    private Player(Player other) {
+        this.id = other.id;
+        this.hand = new ResourceInventory();
+        for (ResourceType r : ResourceType.values()) {
+            hand.set(r, other.hand.get(r));
+        }
+        this.pieces = other.pieces.copy();
+        this.strategy = other.strategy;
+        this.victoryPoints = other.victoryPoints;
+    }
+
+    /**
+     * Empty hand, full piece pool and no VP, playing with the given strategy from now on.
+     * Used when a Game is reset for a new seed.
+     */
+    void reset(AgentStrategy strategy) {
+        for (ResourceType r : ResourceType.values()) {
+            hand.set(r, 0);
+        }
+        pieces.reset();
+        victoryPoints = 0;
+        this.strategy = strategy;
+    }
+
+    /** Independent copy with the same hand, pieces and VP; the strategy is shared. */
+    public Player copy() { return new Player(this); }
+
     public int getId() { return id; }
     public int getVP() { return victoryPoints; }
     public void addVP(int amount) { victoryPoints += amount; }
@@ -28,6 +59,8 @@ public class Player {
 
     public void pay(Cost cost) { hand.pay(cost); }
 
+    public void refund(Cost cost) { hand.add(cost); }
+
     public void addResources(ResourceType type, int amount) {
         hand.add(type, amount);
     }
@@ -36,6 +69,14 @@ public class Player {
         return strategy.select(options);
     }
 
+    public Action chooseAction(List<Action> options, GameState state) {
+        return strategy.select(options, state, this);
+    }
+
+    public Settlement getSettlementPiece() { return settlementPiece; }
+    public City getCityPiece() { return cityPiece; }
+    public Road getRoadPiece() { return roadPiece; }
+
     public ResourceInventory getHand() { return hand; }
     public PiecePool getPieces() { return pieces; }
 }
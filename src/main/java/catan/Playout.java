@@ -0,0 +1,143 @@
+package catan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Plays moves forward from a live GameState and then puts it back exactly.
+ *
+ * Builds go through GameState.apply so they can be undone. Dice production and
+ * discards can't be undone move by move, so hands and the bank are snapshotted as plain
+ * ints when a playout starts and written back at the end.
+ *
+ * Moves are uniformly random unless a GreedyStrategy is given as the rollout policy.
+ */
+public class Playout {
+    private static final int TARGET_VP = 10;
+
+    private final GameState state;
+    private final Player[] players;
+    private final ActionGenerator generator;
+    private final ResourceProductionEngine production;
+    private final RandomGenerator rng;
+    private final GreedyStrategy policy;
+    private final ResourceType[] types = ResourceType.values();
+    private final List<Action> legal = new ArrayList<>();
+    private final int[] legalIds = new int[ActionIds.COUNT];
+
+    private final int[][] savedHands;
+    private final int[] savedBank;
+    private int savedDepth;
+
+    public Playout(GameState state, RandomGenerator rng) {
+        this(state, rng, null);
+    }
+
+    public Playout(GameState state, RandomGenerator rng, GreedyStrategy policy) {
+        this.state = state;
+        this.policy = policy;
+        this.players = state.getPlayers();
+        this.generator = new ActionGenerator();
+        this.production = new ResourceProductionEngine(state.getBoard(), state.getBank(),
+            new ActionLogger(false));
+        this.rng = rng;
+        this.savedHands = new int[players.length][types.length];
+        this.savedBank = new int[types.length];
+    }
+
+    public GameState getState() { return state; }
+    public ActionGenerator getGenerator() { return generator; }
+
+    /** Remembers the current position; restore() comes back to it. */
+    public void save() {
+        savedDepth = state.getUndoDepth();
+        for (int i = 0; i < players.length; i++) {
+            for (ResourceType r : types) {
+                savedHands[i][r.ordinal()] = players[i].getHand().get(r);
+            }
+        }
+        for (ResourceType r : types) {
+            savedBank[r.ordinal()] = state.getBank().getSupply(r);
+        }
+    }
+
+    public void restore() {
+        while (state.getUndoDepth() > savedDepth) {
+            state.undo();
+        }
+        for (int i = 0; i < players.length; i++) {
+            for (ResourceType r : types) {
+                players[i].getHand().set(r, savedHands[i][r.ordinal()]);
+            }
+        }
+        for (ResourceType r : types) {
+            state.getBank().setSupply(r, savedBank[r.ordinal()]);
+        }
+    }
+
+    /** Legal actions for p. The list is reused by the next call, so copy it to keep it. */
+    public List<Action> legalActions(Player p) {
+        // Same over-7 must-build rule as Game
+        generator.getExecutableActions(state, p, p.handSize() > 7, legal);
+        return legal;
+    }
+
+    /**
+     * Finishes the current player's turn (unless it already ended), then plays up to
+     * maxTurns further turns. Returns self's score: 1 for a win, 0 for a loss, and at the
+     * horizon self's share of VP against the best opponent.
+     */
+    public double run(Player self, Player current, boolean turnOver, int maxTurns) {
+        int seat = state.seatOf(current);
+        if (!turnOver) {
+            playBuilds(current);
+        }
+        if (current.getVP() >= TARGET_VP) return current == self ? 1.0 : 0.0;
+
+        for (int t = 0; t < maxTurns; t++) {
+            seat = (seat + 1) % players.length;
+            Player p = players[seat];
+            int roll = (rng.nextInt(6) + 1) + (rng.nextInt(6) + 1);
+            if (roll == 7) {
+                discardHalf();
+            } else {
+                production.produce(roll, players, 0);
+            }
+            playBuilds(p);
+            if (p.getVP() >= TARGET_VP) return p == self ? 1.0 : 0.0;
+        }
+
+        int best = 0;
+        for (Player p : players) {
+            if (p != self) best = Math.max(best, p.getVP());
+        }
+        return (double) self.getVP() / Math.max(1, self.getVP() + best);
+    }
+
+    private void playBuilds(Player p) {
+        ActionSpace space = state.getBoard().getActionSpace();
+        while (true) {
+            int count = generator.getExecutableActionIds(state, p, p.handSize() > 7, legalIds);
+            int id = policy == null
+                ? legalIds[rng.nextInt(count)]
+                : policy.selectId(legalIds, count, state, p);
+            if (id == ActionIds.PASS) return;
+            state.apply(space.get(id), p);
+        }
+    }
+
+    private void discardHalf() {
+        for (Player p : players) {
+            int toDiscard = p.handSize() > 7 ? p.handSize() / 2 : 0;
+            while (toDiscard > 0) {
+                ResourceType r = types[rng.nextInt(types.length)];
+                if (p.getHand().get(r) > 0) {
+                    p.getHand().remove(r, 1);
+                    state.getBank().returnResources(r, 1);
+                    toDiscard--;
+                }
+            }
+        }
+    }
+}
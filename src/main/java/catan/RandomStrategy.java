@@ -2,15 +2,16 @@ package catan;
 
 import java.util.List;
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 public class RandomStrategy implements AgentStrategy {
-    private final Random rng;
+    private final RandomGenerator rng;
 
     public RandomStrategy() {
         this.rng = new Random();
     }
 
-    public RandomStrategy(Random rng) {
+    public RandomStrategy(RandomGenerator rng) {
         this.rng = rng;
     }
 
@@ -1,16 +1,39 @@
 package catan;
 
 public class ResourceBank {
+    private static final int STARTING_SUPPLY = 19;
+
     private final ResourceInventory supply;
 
     public ResourceBank() {
         this.supply = new ResourceInventory();
         // Standard Catan: 19 of each resource in the bank
         for (ResourceType r : ResourceType.values()) {
-            supply.add(r, 19);
+            supply.add(r, STARTING_SUPPLY);
         }
     }
 
+    /** Refills the bank to its starting supply. */
+    public void reset() {
+        for (ResourceType r : ResourceType.values()) {
+            supply.set(r, STARTING_SUPPLY);
+        }
+    }
+
+    void attachHash(ZobristHash hash, int slot) {
+        supply.attachHash(hash, slot);
+    }
+
+    boolean hasHash() { return supply.hasHash(); }
+
+    public int getSupply(ResourceType type) {
+        return supply.get(type);
+    }
+
+    public void setSupply(ResourceType type, int amount) {
+        supply.set(type, amount);
+    }
+
     public boolean canPay(ResourceType type, int amount) {
         return supply.get(type) >= amount;
     }
@@ -27,10 +50,11 @@ public class ResourceBank {
     }
 
     public void returnCost(Cost cost) {
-        supply.add(ResourceType.BRICK, cost.getBrick());
-        supply.add(ResourceType.LUMBER, cost.getLumber());
-        supply.add(ResourceType.WOOL, cost.getWool());
-        supply.add(ResourceType.GRAIN, cost.getGrain());
-        supply.add(ResourceType.ORE, cost.getOre());
+        supply.add(cost);
+    }
+
+    // Inverse of returnCost, used when a build is undone
+    public void takeCost(Cost cost) {
+        supply.pay(cost);
     }
 }
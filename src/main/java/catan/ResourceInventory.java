@@ -1,62 +1,111 @@
 package catan;
 
-import java.util.EnumMap;
-import java.util.Map;
-
+/**
+ * Resource counts indexed by ResourceType ordinal, with the total kept up to date
+ * so size() is a field read. No boxing on any path.
+ *
+ * When a ZobristHash is attached, every count change is reported to it.
+ */
 public class ResourceInventory {
-    private final Map<ResourceType, Integer> counts;
+    private static final int BRICK = ResourceType.BRICK.ordinal();
+    private static final int LUMBER = ResourceType.LUMBER.ordinal();
+    private static final int ORE = ResourceType.ORE.ordinal();
+    private static final int GRAIN = ResourceType.GRAIN.ordinal();
+    private static final int WOOL = ResourceType.WOOL.ordinal();
+
+    private final int[] counts;
+    private int total;
+    private ZobristHash hash;
+    private int hashSlot;
 
     public ResourceInventory() {
-        counts = new EnumMap<>(ResourceType.class);
-        for (ResourceType r : ResourceType.values()) {
-            counts.put(r, 0);
-        }
+        counts = new int[ResourceType.values().length];
+    }
+
+    void attachHash(ZobristHash hash, int slot) {
+        this.hash = hash;
+        this.hashSlot = slot;
     }
 
+    boolean hasHash() { return hash != null; }
+
     public void add(ResourceType type, int amount) {
-        counts.put(type, counts.get(type) + amount);
+        change(type.ordinal(), amount);
     }
 
     public void remove(ResourceType type, int amount) {
-        counts.put(type, counts.get(type) - amount);
+        change(type.ordinal(), -amount);
+    }
+
+    public void add(Cost cost) {
+        if (hash != null) {
+            changeEach(cost, 1);
+            return;
+        }
+        counts[BRICK] += cost.getBrick();
+        counts[LUMBER] += cost.getLumber();
+        counts[WOOL] += cost.getWool();
+        counts[GRAIN] += cost.getGrain();
+        counts[ORE] += cost.getOre();
+        total += cost.getTotal();
+    }
+
+    public void set(ResourceType type, int amount) {
+        change(type.ordinal(), amount - counts[type.ordinal()]);
     }
 
     public int get(ResourceType type) {
-        return counts.get(type);
+        return counts[type.ordinal()];
     }
 
     public int size() {
-        int total = 0;
-        for (int v : counts.values()) {
-            total += v;
-        }
         return total;
     }
 
     public boolean contains(Cost cost) {
-        return counts.get(ResourceType.BRICK) >= cost.getBrick()
-            && counts.get(ResourceType.LUMBER) >= cost.getLumber()
-            && counts.get(ResourceType.WOOL) >= cost.getWool()
-            && counts.get(ResourceType.GRAIN) >= cost.getGrain()
-            && counts.get(ResourceType.ORE) >= cost.getOre();
+        return counts[BRICK] >= cost.getBrick()
+            && counts[LUMBER] >= cost.getLumber()
+            && counts[WOOL] >= cost.getWool()
+            && counts[GRAIN] >= cost.getGrain()
+            && counts[ORE] >= cost.getOre();
     }
 
     public void pay(Cost cost) {
-        remove(ResourceType.BRICK, cost.getBrick());
-        remove(ResourceType.LUMBER, cost.getLumber());
-        remove(ResourceType.WOOL, cost.getWool());
-        remove(ResourceType.GRAIN, cost.getGrain());
-        remove(ResourceType.ORE, cost.getOre());
+        if (hash != null) {
+            changeEach(cost, -1);
+            return;
+        }
+        counts[BRICK] -= cost.getBrick();
+        counts[LUMBER] -= cost.getLumber();
+        counts[WOOL] -= cost.getWool();
+        counts[GRAIN] -= cost.getGrain();
+        counts[ORE] -= cost.getOre();
+        total -= cost.getTotal();
+    }
+
+    private void change(int type, int delta) {
+        int before = counts[type];
+        counts[type] = before + delta;
+        total += delta;
+        if (hash != null) hash.countChanged(hashSlot, type, before, before + delta);
+    }
+
+    private void changeEach(Cost cost, int sign) {
+        if (cost.getBrick() != 0) change(BRICK, sign * cost.getBrick());
+        if (cost.getLumber() != 0) change(LUMBER, sign * cost.getLumber());
+        if (cost.getWool() != 0) change(WOOL, sign * cost.getWool());
+        if (cost.getGrain() != 0) change(GRAIN, sign * cost.getGrain());
+        if (cost.getOre() != 0) change(ORE, sign * cost.getOre());
     }
 
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        sb.append("BRICK=").append(counts.get(ResourceType.BRICK));
-        sb.append(", LUMBER=").append(counts.get(ResourceType.LUMBER));
-        sb.append(", ORE=").append(counts.get(ResourceType.ORE));
-        sb.append(", GRAIN=").append(counts.get(ResourceType.GRAIN));
-        sb.append(", WOOL=").append(counts.get(ResourceType.WOOL));
+        sb.append("BRICK=").append(counts[BRICK]);
+        sb.append(", LUMBER=").append(counts[LUMBER]);
+        sb.append(", ORE=").append(counts[ORE]);
+        sb.append(", GRAIN=").append(counts[GRAIN]);
+        sb.append(", WOOL=").append(counts[WOOL]);
         return sb.toString();
     }
 }
@@ -1,49 +1,117 @@
 package catan;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Hands out resources after a dice roll.
+ *
+ * The tiles for each roll are indexed when the engine is built, and again by reindex()
+ * when a reset game deals new tokens. Payouts per tile and player come from a table that
+ * is only rebuilt after a settlement or city has been placed (tracked through the board's
+ * BitBoard), so a normal roll is a few array reads and adds.
+ */
 public class ResourceProductionEngine {
     private final Board board;
     private final ResourceBank bank;
     private final ActionLogger logger;
 
+    // Producing tiles (desert excluded) sorted by token: roll r's tiles are
+    // rollTiles[rollStart[r]] up to rollTiles[rollStart[r + 1]]
+    private final Tile[] rollTiles;
+    private final int[] rollStart = new int[14];
+    private final long[] tileCornerMasks;
+
+    // payout[tileId][playerIndex] and demand[tileId], valid while the building version matches
+    private Player[] tablePlayers;
+    private int tableVersion = -1;
+    private int[][] payout;
+    private final int[] demand;
+
     public ResourceProductionEngine(Board board, ResourceBank bank, ActionLogger logger) {
         this.board = board;
         this.bank = bank;
         this.logger = logger;
+
+        List<Tile> tiles = board.getTiles();
+        this.tileCornerMasks = new long[tiles.size()];
+        this.demand = new int[tiles.size()];
+        for (Tile tile : tiles) {
+            for (Node n : tile.getCornerNodes()) {
+                tileCornerMasks[tile.getId()] |= 1L << n.getId();
+            }
+        }
+        this.rollTiles = new Tile[tiles.size()];
+        reindex();
+    }
+
+    /** Re-sorts the tiles by token; call after the board's terrain or tokens change. */
+    public void reindex() {
+        Arrays.fill(rollStart, 0);
+        for (Tile tile : board.getTiles()) {
+            if (board.getProducedResource(tile) != null) {
+                rollStart[board.getToken(tile) + 1]++;
+            }
+        }
+        for (int roll = 1; roll < rollStart.length; roll++) {
+            rollStart[roll] += rollStart[roll - 1];
+        }
+        int[] next = rollStart.clone();
+        for (Tile tile : board.getTiles()) {
+            if (board.getProducedResource(tile) != null) {
+                rollTiles[next[board.getToken(tile)]++] = tile;
+            }
+        }
+        // Rebuild the payout table on the next roll
+        tableVersion = -1;
     }
 
     public void produce(int roll, Player[] players, int round) {
-        if (roll == 7) return;
+        if (roll == 7 || roll < 2 || roll > 12) return;
 
-        for (Tile tile : board.getTiles()) {
-            if (tile.producesOn(roll)) {
-                ResourceType resource = tile.getProducedResource();
-                if (resource == null) continue;
-
-                // Calculate total demand for this resource from this tile
-                List<Player> entitled = new ArrayList<>();
-                List<Integer> amounts = new ArrayList<>();
-                int totalNeeded = 0;
-
-                for (Node node : tile.getCornerNodes()) {
-                    if (node.isOccupied()) {
-                        int amount = (node.getBuilding() instanceof City) ? 2 : 1;
-                        entitled.add(node.getOwner());
-                        amounts.add(amount);
-                        totalNeeded += amount;
-                    }
-                }
+        int from = rollStart[roll];
+        int to = rollStart[roll + 1];
+        if (from == to) return;
+        refreshPayouts(players);
+
+        for (int k = from; k < to; k++) {
+            Tile tile = rollTiles[k];
+            int id = tile.getId();
+            int totalNeeded = demand[id];
+            ResourceType resource = board.getProducedResource(tile);
 
-                // Per Catan rules: if bank can't cover total demand, nobody gets any
-                if (totalNeeded > 0 && bank.canPay(resource, totalNeeded)) {
-                    for (int i = 0; i < entitled.size(); i++) {
-                        bank.payTo(entitled.get(i), resource, amounts.get(i));
-                        logger.logResourceGain(round, entitled.get(i).getId(), resource, amounts.get(i));
+            // Per Catan rules: if bank can't cover total demand, nobody gets any
+            if (totalNeeded > 0 && bank.canPay(resource, totalNeeded)) {
+                int[] amounts = payout[id];
+                for (int i = 0; i < players.length; i++) {
+                    if (amounts[i] > 0) {
+                        bank.payTo(players[i], resource, amounts[i]);
+                        logger.logResourceGain(round, players[i].getId(), resource, amounts[i]);
                     }
                 }
             }
         }
     }
+
+    private void refreshPayouts(Player[] players) {
+        BitBoard bits = board.getBitBoard();
+        if (tablePlayers == players && tableVersion == bits.getBuildingVersion()) return;
+
+        if (payout == null || payout[0].length != players.length) {
+            payout = new int[tileCornerMasks.length][players.length];
+        }
+        for (int t = 0; t < tileCornerMasks.length; t++) {
+            long corners = tileCornerMasks[t];
+            int total = 0;
+            for (int i = 0; i < players.length; i++) {
+                int amount = Long.bitCount(bits.getSettlements(players[i]) & corners)
+                    + 2 * Long.bitCount(bits.getCities(players[i]) & corners);
+                payout[t][i] = amount;
+                total += amount;
+            }
+            demand[t] = total;
+        }
+        tablePlayers = players;
+        tableVersion = bits.getBuildingVersion();
+    }
 }
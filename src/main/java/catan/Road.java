@@ -1,14 +1,12 @@
 package catan;
 
+/** A road on an edge; like buildings, one shared instance per player (getRoadPiece). */
 public class Road {
     private final Player owner;
-    private final Edge location;
 
-    public Road(Player owner, Edge location) {
+    public Road(Player owner) {
         this.owner = owner;
-        this.location = location;
     }
 
     public Player getOwner() { return owner; }
-    public Edge getLocation() { return location; }
 }
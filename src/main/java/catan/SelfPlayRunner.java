@@ -0,0 +1,183 @@
+package catan;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * Plays headless games on several threads and turns every real decision into a training
+ * sample written through a ShardWriter. Decisions with only one legal action (usually a
+ * forced pass) teach nothing and are skipped.
+ *
+ * Every sample has the same width, recordSize() bytes:
+ *   features  FeatureEncoder(4).size() bytes, from the mover's point of view
+ *   mask      ActionIds.MASK_WORDS longs, big-endian, legal action bitset
+ *   action    2 bytes, big-endian ActionIds id that was chosen
+ *   seat      1 byte, seat of the mover
+ *   outcome   1 byte, +1 if the mover's seat won, -1 if another seat won, 0 for no winner
+ *
+ * The outcome is only known at the end, so a worker keeps the current game's samples in
+ * its own buffer and submits them as one chunk when the game ends.
+ */
+public class SelfPlayRunner {
+    private static final int PLAYERS = 4;
+
+    private final int maxRounds;
+    private final int threads;
+    private final long batchSeed;
+    private final LongFunction<AgentStrategy[]> strategies;
+
+    public SelfPlayRunner(int maxRounds, int threads, long batchSeed) {
+        this(maxRounds, threads, batchSeed, null);
+    }
+
+    /**
+     * @param strategies builds the seat strategies for a game from its seed; null (or a
+     *                   null entry) means random agents
+     */
+    public SelfPlayRunner(int maxRounds, int threads, long batchSeed,
+                          LongFunction<AgentStrategy[]> strategies) {
+        this.maxRounds = maxRounds;
+        this.threads = threads;
+        this.batchSeed = batchSeed;
+        this.strategies = strategies;
+    }
+
+    /** Bytes per sample. */
+    public static int recordSize() {
+        return new FeatureEncoder(PLAYERS).size() + ActionIds.MASK_WORDS * 8 + 4;
+    }
+
+    /**
+     * Plays the given number of games (game i seeded with GameRandom.gameSeed(batchSeed, i))
+     * and queues their samples on writer. Returns the number of samples.
+     */
+    public long run(long games, ShardWriter writer) {
+        AtomicLong nextGame = new AtomicLong();
+        AtomicLong samples = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(pool.submit(() -> {
+                    Worker worker = new Worker();
+                    long i;
+                    while ((i = nextGame.getAndIncrement()) < games && !writer.hasFailed()) {
+                        samples.addAndGet(worker.play(GameRandom.gameSeed(batchSeed, i), writer));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : workers) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during self-play", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Self-play worker failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return samples.get();
+    }
+
+    private class Worker {
+        private final FeatureEncoder encoder = new FeatureEncoder(PLAYERS);
+        private final int recordSize = recordSize();
+        private final int[] features = new int[encoder.size()];
+        private final long[] mask = new long[ActionIds.MASK_WORDS];
+        private final List<Action> actions = new ArrayList<>();
+        private final ActionGenerator generator = new ActionGenerator();
+        private byte[] buffer = new byte[recordSize * 256];
+        // One Game per worker, reset for each seed instead of rebuilt
+        private Game game;
+
+        int play(long seed, ShardWriter writer) throws InterruptedException {
+            AgentStrategy[] seats = strategies == null ? null : strategies.apply(seed);
+            if (game == null) {
+                game = new Game(maxRounds, true, seed, seats);
+            } else {
+                game.reset(seed, seats);
+            }
+            game.setup();
+            GameState state = game.getGameState();
+
+            int count = 0;
+            Player p;
+            while ((p = game.nextDecision()) != null) {
+                boolean mustBuild = game.mustBuildNow();
+                generator.getExecutableActions(state, p, mustBuild, actions);
+                Action chosen = p.chooseAction(actions, state);
+                if (actions.size() > 1) {
+                    if ((count + 1) * recordSize > buffer.length) {
+                        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    }
+                    encoder.encode(state, p, features);
+                    generator.getExecutableActionMask(state, p, mustBuild, mask);
+                    writeRecord(count * recordSize, ActionIds.idOf(chosen), state.seatOf(p));
+                    count++;
+                }
+                game.applyDecision(chosen);
+            }
+
+            // Now the winner is known, fill in each sample's outcome byte
+            int winnerSeat = game.getWinner() == null ? -1 : state.seatOf(game.getWinner());
+            for (int r = 0; r < count; r++) {
+                int end = (r + 1) * recordSize;
+                int seat = buffer[end - 2];
+                buffer[end - 1] = (byte) (winnerSeat < 0 ? 0 : seat == winnerSeat ? 1 : -1);
+            }
+            writer.submit(Arrays.copyOf(buffer, count * recordSize));
+            return count;
+        }
+
+        private void writeRecord(int at, int actionId, int seat) {
+            for (int f : features) {
+                buffer[at++] = (byte) f;
+            }
+            for (long w : mask) {
+                for (int shift = 56; shift >= 0; shift -= 8) {
+                    buffer[at++] = (byte) (w >>> shift);
+                }
+            }
+            buffer[at++] = (byte) (actionId >>> 8);
+            buffer[at++] = (byte) actionId;
+            buffer[at++] = (byte) seat;
+            buffer[at] = 0;
+        }
+    }
+
+    // Usage: SelfPlayRunner <outDir> <games> [maxRounds] [threads] [seed] [recordsPerShard]
+    public static void main(String[] args) {
+        Path outDir = Paths.get(args.length > 0 ? args[0] : "selfplay");
+        long games = args.length > 1 ? Long.parseLong(args[1]) : 10000;
+        int maxRounds = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int threads = args.length > 3 ? Integer.parseInt(args[3])
+            : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+        long perShard = args.length > 5 ? Long.parseLong(args[5]) : 1_000_000L;
+
+        long start = System.nanoTime();
+        long samples;
+        ShardWriter writer = new ShardWriter(outDir, "selfplay", recordSize(), perShard, 4 * threads);
+        try {
+            samples = new SelfPlayRunner(maxRounds, threads, seed).run(games, writer);
+        } finally {
+            writer.close();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d samples from %d games in %d shards (%d bytes each)%n",
+            samples, games, writer.getShardCount(), recordSize());
+        System.out.printf("  seed %d, %d threads, %.1f s, %.0f samples/s%n",
+            seed, threads, seconds, samples / seconds);
+    }
+}
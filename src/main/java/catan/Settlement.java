@@ -1,8 +1,8 @@
 package catan;
 
 public class Settlement extends Building {
-    public Settlement(Player owner, Node location) {
-        super(owner, location);
+    public Settlement(Player owner) {
+        super(owner);
     }
 
     @Override
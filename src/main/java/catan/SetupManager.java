@@ -2,9 +2,22 @@ package catan;
 
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.random.RandomGenerator;
 
 public class SetupManager {
+    private final RandomGenerator rng;
+    // Starting cards of the current placement, by ResourceType ordinal
+    private final int[] received = new int[ResourceType.values().length];
+
+    public SetupManager() {
+        this(new Random());
+    }
+
+    public SetupManager(RandomGenerator rng) {
+        this.rng = rng;
+    }
 
     public void placeInitialPieces(Player[] players, Board board, RuleEngine rules,
                                     ResourceBank bank, ActionLogger logger) {
@@ -22,7 +35,7 @@ public class SetupManager {
             placeInitialSettlementAndRoad(players[i], board, bank, availableNodes, true, logger);
         }
 
-        System.out.println();
+        logger.logBlankLine();
     }
 
     private void placeInitialSettlementAndRoad(Player player, Board board, ResourceBank bank,
@@ -34,26 +47,11 @@ public class SetupManager {
         if (chosenNode == null) return;
 
         // Place settlement (free during setup)
-        Settlement settlement = new Settlement(player, chosenNode);
-        chosenNode.setBuilding(settlement);
+        board.setBuilding(chosenNode, player.getSettlementPiece());
         player.getPieces().takeSettlement();
         player.addVP(1);
 
-        // Log settlement placement with terrain context
-        StringBuilder desc = new StringBuilder();
-        desc.append("places settlement at node ").append(chosenNode.getId());
-        desc.append(" (adjacent to ");
-        boolean first = true;
-        for (Tile t : chosenNode.getAdjacentTiles()) {
-            if (!first) desc.append(", ");
-            first = false;
-            desc.append(t.getTerrain());
-            if (t.getTerrain() != TerrainType.DESERT) {
-                desc.append("/").append(t.getToken());
-            }
-        }
-        desc.append(")");
-        logger.logSetupPlacement(player.getId(), desc.toString());
+        logger.logSetupSettlement(player.getId(), chosenNode, board);
 
         // Remove this node and adjacent nodes from available list (distance rule)
         availableNodes.remove(chosenNode);
@@ -67,44 +65,34 @@ public class SetupManager {
         // Place a road on a random adjacent empty edge
         List<Edge> emptyEdges = new ArrayList<>();
         for (Edge e : chosenNode.getIncidentEdges()) {
-            if (!e.isOccupied()) {
+            if (!board.isOccupied(e)) {
                 emptyEdges.add(e);
             }
         }
         if (!emptyEdges.isEmpty()) {
-            Collections.shuffle(emptyEdges);
+            GameRandom.shuffle(emptyEdges, rng);
             Edge chosenEdge = emptyEdges.get(0);
-            Road road = new Road(player, chosenEdge);
-            chosenEdge.setRoad(road);
+            board.setRoad(chosenEdge, player.getRoadPiece());
             player.getPieces().takeRoad();
-            logger.logSetupPlacement(player.getId(),
-                "places road between node " + chosenEdge.getA().getId() + " and node " + chosenEdge.getB().getId());
+            logger.logSetupRoad(player.getId(), chosenEdge);
         }
 
         // On second placement, give starting resources from adjacent tiles
         if (giveResources) {
-            StringBuilder resDesc = new StringBuilder();
-            boolean firstRes = true;
+            Arrays.fill(received, 0);
             for (Tile tile : chosenNode.getAdjacentTiles()) {
-                ResourceType resource = tile.getProducedResource();
-                if (resource != null) {
-                    if (bank.canPay(resource, 1)) {
-                        bank.payTo(player, resource, 1);
-                    }
-                    if (!firstRes) resDesc.append(", ");
-                    firstRes = false;
-                    resDesc.append("1 ").append(resource);
+                ResourceType resource = board.getProducedResource(tile);
+                if (resource != null && bank.canPay(resource, 1)) {
+                    bank.payTo(player, resource, 1);
+                    received[resource.ordinal()]++;
                 }
             }
-            if (resDesc.length() > 0) {
-                logger.logSetupPlacement(player.getId(),
-                    "receives starting resources: " + resDesc.toString());
-            }
+            logger.logStartingResources(player.getId(), received);
         }
     }
 
     private Node pickRandomValidNode(List<Node> availableNodes, Board board) {
-        Collections.shuffle(availableNodes);
+        GameRandom.shuffle(availableNodes, rng);
         for (Node node : availableNodes) {
             if (isValidSetupNode(node, board)) {
                 return node;
@@ -114,10 +102,10 @@ public class SetupManager {
     }
 
     private boolean isValidSetupNode(Node node, Board board) {
-        if (node.isOccupied()) return false;
+        if (board.isOccupied(node)) return false;
         for (Edge e : node.getIncidentEdges()) {
             Node neighbor = e.getOtherNode(node);
-            if (neighbor != null && neighbor.isOccupied()) return false;
+            if (neighbor != null && board.isOccupied(neighbor)) return false;
         }
         return true;
     }
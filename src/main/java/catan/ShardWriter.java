@@ -0,0 +1,163 @@
+package catan;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes fixed-size binary records to rolling gzip shards on a background thread.
+ *
+ * Producers hand over whole chunks of records with submit(). The queue between them and
+ * the writer is bounded, so producers only wait when the disk falls behind, never on the
+ * I/O itself. A shard is closed once it holds at least recordsPerShard records (chunks
+ * are never split, so a game's records stay in one shard). Shards are written under a
+ * .tmp name and renamed when complete, so readers never see half a shard.
+ */
+public class ShardWriter implements AutoCloseable {
+    private static final byte[] END = new byte[0];
+
+    private final Path dir;
+    private final String prefix;
+    private final int recordSize;
+    private final long recordsPerShard;
+    private final BlockingQueue<byte[]> queue;
+    private final Thread thread;
+
+    private OutputStream out;
+    private Path currentTmp;
+    private long shardRecords;
+    private int shardCount;
+    private long totalRecords;
+    private volatile IOException failure;
+
+    public ShardWriter(Path dir, String prefix, int recordSize, long recordsPerShard, int queueCapacity) {
+        this.dir = dir;
+        this.prefix = prefix;
+        this.recordSize = recordSize;
+        this.recordsPerShard = recordsPerShard;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.thread = new Thread(this::drain, "shard-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public int getRecordSize() { return recordSize; }
+
+    /** Queues a chunk of whole records, waiting if the queue is full. */
+    public void submit(byte[] chunk) throws InterruptedException {
+        if (chunk.length % recordSize != 0) {
+            throw new IllegalArgumentException("Chunk of " + chunk.length + " bytes is not whole records");
+        }
+        if (chunk.length > 0) queue.put(chunk);
+    }
+
+    /** True once writing has failed; later chunks are dropped and close() throws. */
+    public boolean hasFailed() {
+        return failure != null;
+    }
+
+    /** Flushes everything queued, closes the last shard and stops the thread. */
+    @Override
+    public void close() {
+        try {
+            queue.put(END);
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while closing shards", e);
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Writing shards to " + dir + " failed", failure);
+        }
+    }
+
+    // Only meaningful after close()
+    public int getShardCount() { return shardCount; }
+    public long getTotalRecords() { return totalRecords; }
+
+    private void drain() {
+        try {
+            while (true) {
+                byte[] chunk = queue.take();
+                if (chunk == END) break;
+                // After a failure keep taking chunks so producers don't block forever
+                if (failure != null) continue;
+                try {
+                    write(chunk);
+                } catch (IOException e) {
+                    failure = e;
+                    discardShard();
+                } catch (RuntimeException e) {
+                    failure = new IOException("Unexpected error writing a shard", e);
+                    discardShard();
+                }
+            }
+            if (failure == null) finishShard();
+        } catch (IOException e) {
+            failure = e;
+        } catch (RuntimeException e) {
+            failure = new IOException("Unexpected error closing a shard", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // Whatever stopped us early, don't leave an open handle or a half-written shard
+            if (currentTmp != null) discardShard();
+        }
+    }
+
+    private void write(byte[] chunk) throws IOException {
+        if (out == null) {
+            Files.createDirectories(dir);
+            currentTmp = dir.resolve(shardName(shardCount) + ".tmp");
+            out = new BufferedOutputStream(Files.newOutputStream(currentTmp), 1 << 16);
+            out = new GZIPOutputStream(out, 1 << 16);
+        }
+        out.write(chunk);
+        long records = chunk.length / recordSize;
+        shardRecords += records;
+        totalRecords += records;
+        if (shardRecords >= recordsPerShard) {
+            finishShard();
+        }
+    }
+
+    private void finishShard() throws IOException {
+        if (out == null) return;
+        out.close();
+        out = null;
+        Files.move(currentTmp, dir.resolve(shardName(shardCount)), StandardCopyOption.ATOMIC_MOVE);
+        currentTmp = null;
+        shardCount++;
+        shardRecords = 0;
+    }
+
+    // Drops the shard being written; errors here would only hide the original failure
+    private void discardShard() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException ignored) {
+            }
+            out = null;
+        }
+        // Null when the shard was never opened, e.g. the directory could not be created
+        if (currentTmp != null) {
+            try {
+                Files.deleteIfExists(currentTmp);
+            } catch (IOException ignored) {
+            }
+            currentTmp = null;
+        }
+    }
+
+    private String shardName(int index) {
+        return String.format("%s-%05d.bin.gz", prefix, index);
+    }
+}
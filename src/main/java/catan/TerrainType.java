@@ -1,10 +1,19 @@
 package catan;
 
 public enum TerrainType {
-    HILLS,
-    FOREST,
-    MOUNTAINS,
-    FIELDS,
-    PASTURE,
-    DESERT
+    HILLS(ResourceType.BRICK),
+    FOREST(ResourceType.LUMBER),
+    MOUNTAINS(ResourceType.ORE),
+    FIELDS(ResourceType.GRAIN),
+    PASTURE(ResourceType.WOOL),
+    DESERT(null);
+
+    private final ResourceType resource;
+
+    TerrainType(ResourceType resource) {
+        this.resource = resource;
+    }
+
+    /** What a tile of this terrain produces, or null for the desert. */
+    public ResourceType getResource() { return resource; }
 }
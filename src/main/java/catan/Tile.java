@@ -1,44 +1,26 @@
 package catan;
 
 import java.util.List;
-import java.util.ArrayList;
 
+/**
+ * A hex, shared like Node by every Board of one topology. Terrain and number token
+ * change from game to game, so they're kept by the Board (see Board.getTerrain).
+ */
 public class Tile {
     private final int id;
-    private final TerrainType terrain;
-    private final int token;
-    private final List<Node> cornerNodes;
+    private List<Node> cornerNodes;
 
-    public Tile(int id, TerrainType terrain, int token) {
+    Tile(int id) {
         this.id = id;
-        this.terrain = terrain;
-        this.token = token;
-        this.cornerNodes = new ArrayList<>();
     }
 
-    public int getId() { return id; }
-    public TerrainType getTerrain() { return terrain; }
-    public int getToken() { return token; }
-    public List<Node> getCornerNodes() { return cornerNodes; }
-
-    public void addCornerNode(Node node) {
-        if (!cornerNodes.contains(node)) {
-            cornerNodes.add(node);
-        }
+    // Set once by the topology
+    void link(List<Node> cornerNodes) {
+        this.cornerNodes = cornerNodes;
     }
 
-    public boolean producesOn(int roll) {
-        return terrain != TerrainType.DESERT && token == roll;
-    }
+    public int getId() { return id; }
 
-    public ResourceType getProducedResource() {
-        switch (terrain) {
-            case HILLS: return ResourceType.BRICK;
-            case FOREST: return ResourceType.LUMBER;
-            case MOUNTAINS: return ResourceType.ORE;
-            case FIELDS: return ResourceType.GRAIN;
-            case PASTURE: return ResourceType.WOOL;
-            default: return null;
-        }
-    }
+    /** Corner nodes, clockwise from top-left, unmodifiable. */
+    public List<Node> getCornerNodes() { return cornerNodes; }
 }
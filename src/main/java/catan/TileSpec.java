@@ -10,11 +10,14 @@ public class TileSpec {
         this.id = id;
         this.terrain = terrain;
         this.token = token;
-        this.cornerNodeIds = cornerNodeIds;
+        // Own copy, so neither the caller nor anyone reading this spec can change the board shape
+        this.cornerNodeIds = cornerNodeIds.clone();
     }
 
     public int getId() { return id; }
     public TerrainType getTerrain() { return terrain; }
     public int getToken() { return token; }
-    public int[] getCornerNodeIds() { return cornerNodeIds; }
+
+    /** The corner node ids, as a copy. */
+    public int[] getCornerNodeIds() { return cornerNodeIds.clone(); }
 }
@@ -0,0 +1,202 @@
+package catan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * Plays strategies against each other in 4-player matches across a thread pool and keeps
+ * an EloRatings table up to date as results come in.
+ *
+ * Match m draws a lineup of 4 entrants (distinct when there are at least 4) from
+ * GameRandom.gameSeed(seed, m) and plays it 4 times on the same seed, rotating the seats
+ * each time, so every entrant gets every seat on the same board and dice. Results go
+ * straight into the ratings; no per-game record is kept, so the number of matches is only
+ * limited by time. Since updates arrive in completion order, ratings from runs on several
+ * threads can differ slightly from run to run; win and VP counts don't.
+ */
+public class Tournament {
+    private static final int SEATS = 4;
+
+    private final List<String> names = new ArrayList<>();
+    private final List<LongFunction<AgentStrategy>> factories = new ArrayList<>();
+    private final int maxRounds;
+    private final int threads;
+    private final long seed;
+    private EloRatings ratings;
+    private long playedMatches;
+    private boolean failed;
+
+    public Tournament(int maxRounds, int threads, long seed) {
+        this.maxRounds = maxRounds;
+        this.threads = threads;
+        this.seed = seed;
+    }
+
+    /**
+     * Adds an entrant. The factory is called for every seat it takes, since strategies
+     * keep per-game state, with a seed derived from the match seed and the seat; a
+     * factory that returns null gets the game's own seeded RandomStrategy for that seat.
+     * Returns the entrant's index in the ratings.
+     */
+    public int addEntrant(String name, LongFunction<AgentStrategy> factory) {
+        if (ratings != null) {
+            throw new IllegalStateException("Entrants must be added before the first run");
+        }
+        names.add(name);
+        factories.add(factory);
+        return names.size() - 1;
+    }
+
+    /**
+     * Plays the given number of matches (4 games each). Can be called again to keep going; the
+     * ratings carry over and later matches continue the same seed sequence. If a match
+     * throws, the tournament is marked failed: the ratings already hold some of that run's
+     * matches, so it can't be continued without replaying or skipping seeds.
+     */
+    public EloRatings run(long matches) {
+        if (names.size() < 2) {
+            throw new IllegalStateException("A tournament needs at least 2 entrants");
+        }
+        if (failed) {
+            throw new IllegalStateException("An earlier run failed; ratings are incomplete");
+        }
+        if (ratings == null) {
+            ratings = new EloRatings(names.size());
+        }
+        long first = playedMatches;
+        AtomicLong next = new AtomicLong(first);
+        long end = first + matches;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(pool.submit(() -> {
+                    int[] lineup = new int[SEATS];
+                    int[] seated = new int[SEATS];
+                    int[] vp = new int[SEATS];
+                    long m;
+                    while ((m = next.getAndIncrement()) < end) {
+                        playMatch(m, lineup, seated, vp);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : workers) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            failed = true;
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during tournament", e);
+        } catch (ExecutionException e) {
+            failed = true;
+            throw new IllegalStateException("Tournament worker failed", e.getCause());
+        } finally {
+            // Stop the other workers claiming matches, and let them finish the ones they
+            // are in so nothing touches the ratings once run() has returned
+            next.set(end);
+            pool.shutdown();
+            awaitWorkers(pool);
+        }
+        playedMatches = end;
+        return ratings;
+    }
+
+    private void playMatch(long m, int[] lineup, int[] seated, int[] vp) {
+        long gameSeed = GameRandom.gameSeed(seed, m);
+        drawLineup(new SplittableRandom(gameSeed), lineup);
+        AgentStrategy[] strategies = new AgentStrategy[SEATS];
+        for (int rotation = 0; rotation < SEATS; rotation++) {
+            for (int s = 0; s < SEATS; s++) {
+                seated[s] = lineup[(s + rotation) % SEATS];
+                strategies[s] = factories.get(seated[s]).apply(GameRandom.gameSeed(gameSeed, s));
+            }
+            Game game = new Game(maxRounds, true, gameSeed, strategies);
+            game.run();
+            Player[] players = game.getPlayers();
+            int winnerSeat = -1;
+            for (int s = 0; s < SEATS; s++) {
+                vp[s] = players[s].getVP();
+                if (players[s] == game.getWinner()) winnerSeat = s;
+            }
+            ratings.record(seated, vp, winnerSeat);
+        }
+    }
+
+    private static void awaitWorkers(ExecutorService pool) {
+        boolean interrupted = false;
+        boolean done = false;
+        while (!done) {
+            try {
+                done = pool.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    private void drawLineup(SplittableRandom rng, int[] lineup) {
+        int n = names.size();
+        for (int s = 0; s < SEATS; s++) {
+            int pick;
+            boolean taken;
+            do {
+                pick = rng.nextInt(n);
+                taken = false;
+                // Repeats are only allowed when there aren't enough entrants to fill the table
+                for (int t = 0; t < s && n >= SEATS; t++) {
+                    taken |= lineup[t] == pick;
+                }
+            } while (taken);
+            lineup[s] = pick;
+        }
+    }
+
+    public EloRatings getRatings() { return ratings; }
+    public String getName(int entrant) { return names.get(entrant); }
+
+    /** One line per entrant, best rating first. */
+    public String standings() {
+        List<Integer> order = new ArrayList<>();
+        for (int e = 0; e < names.size(); e++) order.add(e);
+        order.sort((a, b) -> Double.compare(ratings.getRating(b), ratings.getRating(a)));
+        StringBuilder sb = new StringBuilder();
+        for (int e : order) {
+            long games = ratings.getGames(e);
+            sb.append(String.format("  %-12s %7.1f  %7d games  %6.2f%% wins  %5.2f VP%n",
+                names.get(e), ratings.getRating(e), games,
+                games == 0 ? 0.0 : 100.0 * ratings.getWins(e) / games, ratings.meanVP(e)));
+        }
+        return sb.toString();
+    }
+
+    // Usage: Tournament <matches> [maxRounds] [threads] [seed]
+    public static void main(String[] args) {
+        long matches = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        int maxRounds = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int threads = args.length > 2 ? Integer.parseInt(args[2])
+            : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+
+        Tournament tournament = new Tournament(maxRounds, threads, seed);
+        tournament.addEntrant("random", s -> null);
+        tournament.addEntrant("greedy", s -> new GreedyStrategy());
+        tournament.addEntrant("mcts", s -> new MctsStrategy(200, 0, 20, s));
+
+        long start = System.nanoTime();
+        tournament.run(matches);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.print(tournament.standings());
+        System.out.printf("  %d games, seed %d, %d threads, %.1f s%n",
+            matches * SEATS, seed, threads, seconds);
+    }
+}
@@ -0,0 +1,86 @@
+package catan;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size table of playout statistics keyed by ZobristHash, so search can share what
+ * it learned about a position reached by different build orders (road A then B, or B
+ * then A).
+ *
+ * Open addressing in parallel arrays: a key may live in any of PROBES slots after its
+ * home slot. When all of them hold other keys, the entry with the fewest visits is
+ * replaced, so well-explored positions survive. Not thread-safe.
+ */
+public class TranspositionTable {
+    private static final int PROBES = 4;
+
+    private final long[] keys;
+    private final int[] visits;
+    private final double[] values;
+    private final int mask;
+
+    /** @param capacity number of entries, rounded up to a power of two */
+    public TranspositionTable(int capacity) {
+        int size = Integer.highestOneBit(Math.max(PROBES, capacity - 1) << 1);
+        this.keys = new long[size];
+        this.visits = new int[size];
+        this.values = new double[size];
+        this.mask = size - 1;
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    /** Adds one playout result for the position. */
+    public void record(long key, double reward) {
+        int home = home(key);
+        int victim = -1;
+        for (int i = 0; i < PROBES; i++) {
+            int slot = (home + i) & mask;
+            if (visits[slot] == 0) {
+                if (victim < 0 || visits[victim] > 0) victim = slot;
+                continue;
+            }
+            if (keys[slot] == key) {
+                visits[slot]++;
+                values[slot] += reward;
+                return;
+            }
+            if (victim < 0 || visits[slot] < visits[victim]) victim = slot;
+        }
+        keys[victim] = key;
+        visits[victim] = 1;
+        values[victim] = reward;
+    }
+
+    /** Playouts recorded for the position, 0 if it isn't in the table. */
+    public int visits(long key) {
+        int slot = find(key);
+        return slot < 0 ? 0 : visits[slot];
+    }
+
+    /** Mean playout result for the position, or NaN if it isn't in the table. */
+    public double mean(long key) {
+        int slot = find(key);
+        return slot < 0 ? Double.NaN : values[slot] / visits[slot];
+    }
+
+    public void clear() {
+        Arrays.fill(visits, 0);
+    }
+
+    private int find(long key) {
+        int home = home(key);
+        for (int i = 0; i < PROBES; i++) {
+            int slot = (home + i) & mask;
+            if (visits[slot] != 0 && keys[slot] == key) return slot;
+        }
+        return -1;
+    }
+
+    private int home(long key) {
+        // Zobrist keys are already uniform, just fold the high bits in
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+}
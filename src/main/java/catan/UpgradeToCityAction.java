@@ -7,14 +7,13 @@ public class UpgradeToCityAction implements Action {
         this.target = target;
     }
 
+    public Node getTarget() { return target; }
+
     @Override
     public boolean isExecutable(GameState state, Player p) {
-        if (!target.isOccupied()) return false;
-        if (target.getOwner() != p) return false;
-        if (!(target.getBuilding() instanceof Settlement)) return false;
         if (!p.canAfford(Cost.cityCost())) return false;
         if (!p.getPieces().hasCity()) return false;
-        return true;
+        return state.getBoard().getBitBoard().isCitySpot(p, target.getId());
     }
 
     @Override
@@ -24,13 +23,23 @@ public class UpgradeToCityAction implements Action {
         state.getBank().returnCost(cost);
         p.getPieces().takeCity();
         p.getPieces().returnSettlement();
-        City city = new City(p, target);
-        target.setBuilding(city);
+        state.getBoard().setBuilding(target, p.getCityPiece());
         p.addVP(1);
     }
 
     @Override
-    public String describe() {
+    public void undo(GameState state, Player p) {
+        Cost cost = Cost.cityCost();
+        state.getBoard().setBuilding(target, p.getSettlementPiece());
+        p.getPieces().returnCity();
+        p.getPieces().takeSettlement();
+        p.removeVP(1);
+        state.getBank().takeCost(cost);
+        p.refund(cost);
+    }
+
+    @Override
+    public String describe(Board board) {
         StringBuilder sb = new StringBuilder();
         sb.append("upgrades settlement to city at node ").append(target.getId());
         sb.append(" (adjacent to ");
@@ -38,9 +47,9 @@ public class UpgradeToCityAction implements Action {
         for (Tile t : target.getAdjacentTiles()) {
             if (!first) sb.append(", ");
             first = false;
-            sb.append(t.getTerrain());
-            if (t.getTerrain() != TerrainType.DESERT) {
-                sb.append("/").append(t.getToken());
+            sb.append(board.getTerrain(t));
+            if (board.getTerrain(t) != TerrainType.DESERT) {
+                sb.append("/").append(board.getToken(t));
             }
         }
         sb.append(") [cost: 3 ORE, 2 GRAIN]");
@@ -0,0 +1,131 @@
+package catan;
+
+import java.util.Arrays;
+
+/**
+ * K independent headless games stepped together, one decision per game per step, for
+ * agents that pick actions in batches (self-play, policy evaluation).
+ *
+ * Every seat's decisions come from the caller. After reset or step, row i of each buffer
+ * describes the decision now pending in game i:
+ *
+ *   observations  K x observationSize()    FeatureEncoder vector, from the mover's view
+ *   legalMasks    K x ActionIds.MASK_WORDS legal action ids as a bitset
+ *   toMove        K                        seat index (0-3) of the player to move
+ *   rewards       K x 4                    per seat: +1 winner, -1 the rest, on the final step
+ *   dones         K                        true if the step ended game i
+ *
+ * A finished game is reset straight away with the next seed of its own sequence, so its
+ * row already shows the new game's first decision. Each slot keeps reusing one Game via
+ * Game.reset, and the buffers are reused too: read or copy them before the next step.
+ */
+public class VecEnv {
+    private static final int PLAYERS = 4;
+
+    private final int numEnvs;
+    private final int maxRounds;
+    private final Game[] games;
+    private final ActionGenerator generator = new ActionGenerator();
+    private final Player[] movers;
+    private final long[] seeds;
+    private final int[] episodes;
+    private final FeatureEncoder encoder = new FeatureEncoder(PLAYERS);
+
+    private final float[] observations;
+    private final long[] legalMasks;
+    private final int[] toMove;
+    private final float[] rewards;
+    private final boolean[] dones;
+
+    public VecEnv(int numEnvs, int maxRounds) {
+        this.numEnvs = numEnvs;
+        this.maxRounds = maxRounds;
+        this.games = new Game[numEnvs];
+        this.movers = new Player[numEnvs];
+        this.seeds = new long[numEnvs];
+        this.episodes = new int[numEnvs];
+        this.observations = new float[numEnvs * encoder.size()];
+        this.legalMasks = new long[numEnvs * ActionIds.MASK_WORDS];
+        this.toMove = new int[numEnvs];
+        this.rewards = new float[numEnvs * PLAYERS];
+        this.dones = new boolean[numEnvs];
+    }
+
+    /** Starts a fresh game in every slot; seeds[i] seeds slot i and its later resets. */
+    public void reset(long[] seeds) {
+        if (seeds.length != numEnvs) {
+            throw new IllegalArgumentException("Need " + numEnvs + " seeds, got " + seeds.length);
+        }
+        for (int i = 0; i < numEnvs; i++) {
+            this.seeds[i] = seeds[i];
+            episodes[i] = 0;
+            startGame(i, seeds[i]);
+            dones[i] = false;
+        }
+        Arrays.fill(rewards, 0f);
+    }
+
+    /** Plays actionIds[i] in game i and refreshes every buffer. */
+    public void step(int[] actionIds) {
+        for (int i = 0; i < numEnvs; i++) {
+            int id = actionIds[i];
+            int word = i * ActionIds.MASK_WORDS + (id >>> 6);
+            if (id < 0 || id >= ActionIds.COUNT || (legalMasks[word] & (1L << (id & 63))) == 0) {
+                throw new IllegalArgumentException("Action " + id + " is not legal in env " + i);
+            }
+            Game game = games[i];
+            game.applyDecision(game.getBoard().getActionSpace().get(id));
+
+            int r = i * PLAYERS;
+            for (int s = 0; s < PLAYERS; s++) rewards[r + s] = 0f;
+            movers[i] = game.nextDecision();
+            dones[i] = movers[i] == null;
+            if (dones[i]) {
+                Player winner = game.getWinner();
+                if (winner != null) {
+                    Player[] players = game.getPlayers();
+                    for (int s = 0; s < PLAYERS; s++) {
+                        rewards[r + s] = players[s] == winner ? 1f : -1f;
+                    }
+                }
+                startGame(i, GameRandom.gameSeed(seeds[i], ++episodes[i]));
+            } else {
+                observe(i);
+            }
+        }
+    }
+
+    private void startGame(int i, long seed) {
+        Game game = games[i];
+        if (game == null) {
+            game = new Game(maxRounds, true, seed);
+            games[i] = game;
+        } else {
+            game.reset(seed);
+        }
+        game.setup();
+        movers[i] = game.nextDecision();
+        observe(i);
+    }
+
+    private void observe(int i) {
+        Game game = games[i];
+        GameState state = game.getGameState();
+        Player p = movers[i];
+        toMove[i] = state.seatOf(p);
+        encoder.encode(state, p, observations, i * encoder.size());
+        generator.getExecutableActionMask(state, p, game.mustBuildNow(),
+            legalMasks, i * ActionIds.MASK_WORDS);
+    }
+
+    public int numEnvs() { return numEnvs; }
+    public int observationSize() { return encoder.size(); }
+    public float[] getObservations() { return observations; }
+    public long[] getLegalMasks() { return legalMasks; }
+    public int[] getToMove() { return toMove; }
+    public float[] getRewards() { return rewards; }
+    public boolean[] getDones() { return dones; }
+
+    /** The game currently in slot i, e.g. for inspection in tests. */
+    public Game getGame(int i) { return games[i]; }
+}
@@ -0,0 +1,140 @@
+package catan;
+
+import java.util.SplittableRandom;
+
+/**
+ * 64-bit Zobrist hash of a position: buildings, roads, hands, piece pools and bank.
+ *
+ * The hash is kept up to date by the objects that hold the state: BitBoard reports
+ * building and road changes, ResourceInventory reports count changes (for hands and the
+ * bank) and PiecePool reports pieces taken or returned. So action execute/undo, dice
+ * production, discards and Playout.restore all update it without knowing it exists.
+ *
+ * Owners are keyed by player id, not seat, so the same position hashes the same in a
+ * GameState.copy(). Counts are keyed modulo 32, far above anything a real game reaches.
+ * VP and the longest road holder aren't hashed; they follow from the board.
+ */
+public class ZobristHash {
+    private static final int OWNERS = 16;
+    private static final int BANK_SLOT = OWNERS;
+    private static final int COUNTS = 32;
+
+    private static final long[][][] BUILDING_KEYS = new long[BitBoard.NODE_COUNT][OWNERS][2];
+    private static final long[][] ROAD_KEYS = new long[BitBoard.EDGE_COUNT][OWNERS];
+    private static final long[][][] RESOURCE_KEYS = new long[OWNERS + 1][ResourceType.values().length][COUNTS];
+    private static final long[][][] PIECE_KEYS = new long[OWNERS][3][COUNTS];
+
+    static final int ROAD_PIECE = 0;
+    static final int SETTLEMENT_PIECE = 1;
+    static final int CITY_PIECE = 2;
+
+    static {
+        // Fixed seed so hashes are the same from run to run
+        SplittableRandom rng = new SplittableRandom(0x2F6B3C1D5A7E9B01L);
+        fill(BUILDING_KEYS, rng);
+        for (long[] keys : ROAD_KEYS) fill(keys, rng);
+        fill(RESOURCE_KEYS, rng);
+        fill(PIECE_KEYS, rng);
+    }
+
+    private long value;
+
+    private ZobristHash() {
+    }
+
+    /**
+     * Computes the hash of the current position and hooks into the board, bank and
+     * players so it stays current from then on. Each of them reports to one hash only,
+     * so attaching a second one would leave the first silently stale; that throws
+     * IllegalStateException instead, before anything is hooked.
+     */
+    public static ZobristHash attach(Board board, ResourceBank bank, Player[] players) {
+        boolean taken = board.getBitBoard().hasHash() || bank.hasHash();
+        for (Player p : players) {
+            taken |= p.getHand().hasHash() || p.getPieces().hasHash();
+        }
+        if (taken) {
+            throw new IllegalStateException("Board, bank or players already belong to a GameState");
+        }
+        ZobristHash hash = new ZobristHash();
+        hash.value = compute(board, bank, players);
+        board.getBitBoard().setHash(hash);
+        bank.attachHash(hash, BANK_SLOT);
+        for (Player p : players) {
+            p.getHand().attachHash(hash, ownerSlot(p));
+            p.getPieces().attachHash(hash, ownerSlot(p));
+        }
+        return hash;
+    }
+
+    /** Hashes a position from scratch. */
+    public static long compute(Board board, ResourceBank bank, Player[] players) {
+        long h = 0;
+        for (Node n : board.getNodes()) {
+            if (board.isOccupied(n)) h ^= buildingKey(n.getId(), board.getBuilding(n));
+        }
+        for (Edge e : board.getAllEdges()) {
+            if (board.isOccupied(e)) h ^= roadKey(e.getId(), board.getRoad(e));
+        }
+        for (ResourceType r : ResourceType.values()) {
+            h ^= RESOURCE_KEYS[BANK_SLOT][r.ordinal()][bank.getSupply(r) & (COUNTS - 1)];
+        }
+        for (Player p : players) {
+            int slot = ownerSlot(p);
+            for (ResourceType r : ResourceType.values()) {
+                h ^= RESOURCE_KEYS[slot][r.ordinal()][p.getHand().get(r) & (COUNTS - 1)];
+            }
+            PiecePool pieces = p.getPieces();
+            h ^= PIECE_KEYS[slot][ROAD_PIECE][pieces.roadsRemaining() & (COUNTS - 1)];
+            h ^= PIECE_KEYS[slot][SETTLEMENT_PIECE][pieces.settlementsRemaining() & (COUNTS - 1)];
+            h ^= PIECE_KEYS[slot][CITY_PIECE][pieces.citiesRemaining() & (COUNTS - 1)];
+        }
+        return h;
+    }
+
+    public long get() {
+        return value;
+    }
+
+    void buildingChanged(int node, Building previous, Building current) {
+        if (previous != null) value ^= buildingKey(node, previous);
+        if (current != null) value ^= buildingKey(node, current);
+    }
+
+    void roadChanged(int edge, Road previous, Road current) {
+        if (previous != null) value ^= roadKey(edge, previous);
+        if (current != null) value ^= roadKey(edge, current);
+    }
+
+    void countChanged(int slot, int type, int before, int after) {
+        long[] keys = RESOURCE_KEYS[slot][type];
+        value ^= keys[before & (COUNTS - 1)] ^ keys[after & (COUNTS - 1)];
+    }
+
+    void piecesChanged(int slot, int kind, int before, int after) {
+        long[] keys = PIECE_KEYS[slot][kind];
+        value ^= keys[before & (COUNTS - 1)] ^ keys[after & (COUNTS - 1)];
+    }
+
+    private static long buildingKey(int node, Building b) {
+        return BUILDING_KEYS[node][ownerSlot(b.getOwner())][b instanceof City ? 1 : 0];
+    }
+
+    private static long roadKey(int edge, Road r) {
+        return ROAD_KEYS[edge][ownerSlot(r.getOwner())];
+    }
+
+    private static int ownerSlot(Player p) {
+        return p.getId() & (OWNERS - 1);
+    }
+
+    private static void fill(long[] keys, SplittableRandom rng) {
+        for (int i = 0; i < keys.length; i++) keys[i] = rng.nextLong();
+    }
+
+    private static void fill(long[][][] keys, SplittableRandom rng) {
+        for (long[][] plane : keys) {
+            for (long[] row : plane) fill(row, rng);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package catan;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+public class ActionLoggerTest {
+
+    @Test
+    public void testHeadlessGameStreamsTypedEvents() {
+        Game game = new Game(60, true, 5L);
+        Map<GameEvent.Type, Integer> counts = new EnumMap<>(GameEvent.Type.class);
+        game.setEventSink(e -> {
+            counts.merge(e.getType(), 1, Integer::sum);
+            switch (e.getType()) {
+                case BUILD:
+                    assertNotNull(e.getAction());
+                    assertTrue(e.getHand(ResourceType.BRICK) >= 0);
+                    break;
+                case PRODUCTION:
+                    assertNotNull(e.getResource());
+                    assertTrue(e.getAmount() > 0);
+                    break;
+                case ROLL:
+                    assertTrue(e.getAmount() >= 2 && e.getAmount() <= 12);
+                    break;
+                case ROUND_END:
+                    assertEquals(4, e.getPlayerCount());
+                    break;
+                default:
+                    break;
+            }
+        });
+        game.run();
+
+        assertEquals(game.getCurrentRound(), (int) counts.get(GameEvent.Type.ROUND_END));
+        assertTrue(counts.get(GameEvent.Type.ROLL) > game.getCurrentRound());
+        assertTrue(counts.containsKey(GameEvent.Type.BUILD));
+        assertTrue(counts.containsKey(GameEvent.Type.PRODUCTION));
+        assertEquals(8, (int) counts.get(GameEvent.Type.SETUP_SETTLEMENT));
+        assertEquals(8, (int) counts.get(GameEvent.Type.SETUP_ROAD));
+        assertEquals(4, (int) counts.get(GameEvent.Type.SETUP_RESOURCES));
+    }
+
+    @Test
+    public void testConsoleSinkFormatsSetup() {
+        Board board = new Board(BoardLayout.createStandardLayout(new Random(3)));
+        Node node = board.getNode(0);
+        Edge edge = node.getIncidentEdges().get(0);
+        StringBuilder tiles = new StringBuilder();
+        for (Tile t : node.getAdjacentTiles()) {
+            if (tiles.length() > 0) tiles.append(", ");
+            tiles.append(board.getTerrain(t));
+            if (board.getTerrain(t) != TerrainType.DESERT) {
+                tiles.append("/").append(board.getToken(t));
+            }
+        }
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        ActionLogger logger = new ActionLogger(new ConsoleEventSink(new PrintStream(captured)));
+        int[] received = new int[ResourceType.values().length];
+        received[ResourceType.ORE.ordinal()] = 2;
+        received[ResourceType.WOOL.ordinal()] = 1;
+        logger.logSetupSettlement(3, node, board);
+        logger.logSetupRoad(3, edge);
+        logger.logStartingResources(3, received);
+        logger.logStartingResources(4, new int[ResourceType.values().length]);
+
+        String nl = System.lineSeparator();
+        assertEquals("Setup / 3: places settlement at node 0 (adjacent to " + tiles + ")" + nl
+            + "Setup / 3: places road between node " + edge.getA().getId() + " and node "
+            + edge.getB().getId() + nl
+            + "Setup / 3: receives starting resources: 2 ORE, 1 WOOL" + nl, captured.toString());
+    }
+
+    @Test
+    public void testConsoleSinkFormatsEvents() {
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        ActionLogger logger = new ActionLogger(new ConsoleEventSink(new PrintStream(captured)));
+        Player p1 = new Player(1, null);
+        Player p2 = new Player(2, null);
+        logger.logDiceRoll(3, 2, 8);
+        logger.logResourceGain(3, 1, ResourceType.ORE, 2);
+        logger.logLongestRoad(4, p1, p2, 6);
+        logger.logEndOfRound(4, new Player[] {p1, p2});
+
+        String nl = System.lineSeparator();
+        assertEquals("3 / 2: rolls a 8" + nl
+            + "3 / 1: receives 2 ORE" + nl
+            + "4 / 1: loses Longest Road (-2 VP)" + nl
+            + "4 / 2: claims Longest Road! (+2 VP, road length: 6)" + nl
+            + "4 / VP: 1=0, 2=0" + nl, captured.toString());
+    }
+
+    @Test
+    public void testDetachedSinkGetsNothing() {
+        int[] calls = new int[1];
+        ActionLogger logger = new ActionLogger(e -> calls[0]++);
+        logger.logDiceRoll(1, 1, 6);
+        logger.setSink(null);
+        assertFalse(logger.isEnabled());
+        logger.logDiceRoll(2, 1, 6);
+        logger.logDiscard(2, 1, 4);
+        assertEquals(1, calls[0]);
+    }
+}
@@ -4,6 +4,8 @@ import org.junit.Test;
 import org.junit.Before;
 import static org.junit.Assert.*;
 
+import java.util.List;
+
 public class ActionTest {
     private Board board;
     private ResourceBank bank;
@@ -24,7 +26,7 @@ public class ActionTest {
     public void testBuildRoadExecuteDeductsResources() {
         // Setup: place a settlement so road can connect
         Node node0 = board.getNode(0);
-        node0.setBuilding(new Settlement(player, node0));
+        board.setBuilding(node0, new Settlement(player));
         player.addResources(ResourceType.BRICK, 1);
         player.addResources(ResourceType.LUMBER, 1);
 
@@ -34,8 +36,8 @@ public class ActionTest {
 
         action.execute(state, player);
 
-        assertTrue(edge.isOccupied());
-        assertEquals(player, edge.getRoad().getOwner());
+        assertTrue(board.isOccupied(edge));
+        assertEquals(player, board.getRoad(edge).getOwner());
         assertEquals(0, player.getHand().get(ResourceType.BRICK));
         assertEquals(0, player.getHand().get(ResourceType.LUMBER));
     }
@@ -43,7 +45,7 @@ public class ActionTest {
     @Test
     public void testBuildRoadNotExecutableWithoutResources() {
         Node node0 = board.getNode(0);
-        node0.setBuilding(new Settlement(player, node0));
+        board.setBuilding(node0, new Settlement(player));
 
         Edge edge = node0.getIncidentEdges().get(0);
         BuildRoadAction action = new BuildRoadAction(edge);
@@ -54,26 +56,26 @@ public class ActionTest {
     public void testBuildSettlementExecute() {
         // Place road to a far-enough node
         Node node0 = board.getNode(0);
-        node0.setBuilding(new Settlement(player, node0));
+        board.setBuilding(node0, new Settlement(player));
         player.getPieces().takeSettlement();
         player.addVP(1);
 
         Edge firstEdge = node0.getIncidentEdges().get(0);
-        firstEdge.setRoad(new Road(player, firstEdge));
+        board.setRoad(firstEdge, new Road(player));
         player.getPieces().takeRoad();
 
         Node midNode = firstEdge.getOtherNode(node0);
         for (Edge nextEdge : midNode.getIncidentEdges()) {
             Node target = nextEdge.getOtherNode(midNode);
-            if (target != null && target != node0 && !nextEdge.isOccupied()) {
-                nextEdge.setRoad(new Road(player, nextEdge));
+            if (target != null && target != node0 && !board.isOccupied(nextEdge)) {
+                board.setRoad(nextEdge, new Road(player));
                 player.getPieces().takeRoad();
 
                 // Check distance rule
                 boolean valid = true;
                 for (Edge adj : target.getIncidentEdges()) {
                     Node neighbor = adj.getOtherNode(target);
-                    if (neighbor != null && neighbor.isOccupied()) {
+                    if (neighbor != null && board.isOccupied(neighbor)) {
                         valid = false;
                         break;
                     }
@@ -90,8 +92,8 @@ public class ActionTest {
                     int vpBefore = player.getVP();
                     action.execute(state, player);
 
-                    assertTrue(target.isOccupied());
-                    assertEquals(player, target.getOwner());
+                    assertTrue(board.isOccupied(target));
+                    assertEquals(player, board.getOwner(target));
                     assertEquals(vpBefore + 1, player.getVP());
                     return;
                 }
@@ -102,7 +104,7 @@ public class ActionTest {
     @Test
     public void testUpgradeToCityExecute() {
         Node node0 = board.getNode(0);
-        node0.setBuilding(new Settlement(player, node0));
+        board.setBuilding(node0, new Settlement(player));
         player.getPieces().takeSettlement();
 
         player.addResources(ResourceType.ORE, 3);
@@ -114,16 +116,37 @@ public class ActionTest {
         int vpBefore = player.getVP();
         action.execute(state, player);
 
-        assertTrue(node0.getBuilding() instanceof City);
+        assertTrue(board.getBuilding(node0) instanceof City);
         assertEquals(vpBefore + 1, player.getVP());
         assertEquals(0, player.getHand().get(ResourceType.ORE));
         assertEquals(0, player.getHand().get(ResourceType.GRAIN));
     }
 
+    @Test
+    public void testBuildsShareThePlayersPieces() {
+        Node node0 = board.getNode(0);
+        board.setBuilding(node0, player.getSettlementPiece());
+        player.addResources(ResourceType.ORE, 3);
+        player.addResources(ResourceType.GRAIN, 2);
+
+        UpgradeToCityAction upgrade = new UpgradeToCityAction(node0);
+        state.apply(upgrade, player);
+        assertSame(player.getCityPiece(), board.getBuilding(node0));
+        state.undo();
+        assertSame(player.getSettlementPiece(), board.getBuilding(node0));
+
+        Edge edge = node0.getIncidentEdges().get(0);
+        player.addResources(ResourceType.BRICK, 1);
+        player.addResources(ResourceType.LUMBER, 1);
+        new BuildRoadAction(edge).execute(state, player);
+        assertSame(player.getRoadPiece(), board.getRoad(edge));
+        assertSame(player, board.getRoad(edge).getOwner());
+    }
+
     @Test
     public void testUpgradeToCityReturnsSettlementPiece() {
         Node node0 = board.getNode(0);
-        node0.setBuilding(new Settlement(player, node0));
+        board.setBuilding(node0, new Settlement(player));
         player.getPieces().takeSettlement();
         int settlementsBefore = player.getPieces().settlementsRemaining();
 
@@ -168,4 +191,49 @@ public class ActionTest {
             assertTrue("Dice roll should be <= 12", roll <= 12);
         }
     }
+
+    @Test
+    public void testGeneratorHandsOutSharedActionsByAscendingId() {
+        Node node0 = board.getNode(0);
+        board.setBuilding(node0, new Settlement(player));
+        player.addResources(ResourceType.BRICK, 2);
+        player.addResources(ResourceType.LUMBER, 2);
+        player.addResources(ResourceType.ORE, 3);
+        player.addResources(ResourceType.GRAIN, 2);
+        ActionGenerator generator = new ActionGenerator();
+
+        int[] ids = new int[ActionIds.COUNT];
+        int count = generator.getExecutableActionIds(state, player, false, ids);
+        List<Action> actions = generator.getExecutableActions(state, player, false);
+
+        assertEquals(count, actions.size());
+        for (int i = 0; i < count; i++) {
+            if (i > 0) assertTrue(ids[i] > ids[i - 1]);
+            assertEquals(ids[i], ActionIds.idOf(actions.get(i)));
+            assertSame(board.getActionSpace().get(ids[i]), actions.get(i));
+        }
+        assertEquals(ActionIds.PASS, ids[count - 1]);
+        assertEquals(ActionIds.CITY_BASE, ids[count - 2]);
+    }
+
+    @Test
+    public void testMaskMatchesIds() {
+        GameState mid = TestGames.midGame(808L, 50).getGameState();
+        ActionGenerator generator = new ActionGenerator();
+        int[] ids = new int[ActionIds.COUNT];
+        long[] mask = new long[ActionIds.MASK_WORDS];
+        TestGames.stock(mid, 3, mid.getPlayers());
+        for (Player p : mid.getPlayers()) {
+            for (boolean mustBuild : new boolean[] {false, true}) {
+                int count = generator.getExecutableActionIds(mid, p, mustBuild, ids);
+                generator.getExecutableActionMask(mid, p, mustBuild, mask);
+                int bits = 0;
+                for (long w : mask) bits += Long.bitCount(w);
+                assertEquals(count, bits);
+                for (int i = 0; i < count; i++) {
+                    assertTrue((mask[ids[i] >>> 6] & (1L << (ids[i] & 63))) != 0);
+                }
+            }
+        }
+    }
 }
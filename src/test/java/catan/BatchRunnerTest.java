@@ -0,0 +1,56 @@
+package catan;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.ForkJoinPool;
+
+public class BatchRunnerTest {
+
+    @Test
+    public void testBatchCountsEveryGame() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        BatchResult result = new BatchRunner(30, pool).run(100);
+        pool.shutdown();
+
+        assertEquals(100, result.getGames());
+        long wins = 0;
+        for (int seat = 0; seat < 4; seat++) {
+            wins += result.getWins(seat);
+        }
+        assertEquals(100, wins + result.getNoWinner());
+
+        long lengths = 0;
+        for (int r = 0; r <= 30; r++) {
+            lengths += result.getGamesOfLength(r);
+        }
+        assertEquals(100, lengths);
+        // Every game without a winner must have used all 30 rounds
+        assertTrue(result.getGamesOfLength(30) >= result.getNoWinner());
+    }
+
+    @Test
+    public void testSeededBatchIsRepeatableAcrossThreadCounts() {
+        ForkJoinPool one = new ForkJoinPool(1);
+        ForkJoinPool two = new ForkJoinPool(2);
+        BatchResult a = new BatchRunner(40, one, 99L).run(64);
+        BatchResult b = new BatchRunner(40, two, 99L).run(64);
+        one.shutdown();
+        two.shutdown();
+
+        assertEquals(a.summary(), b.summary());
+    }
+
+    @Test
+    public void testMergeAddsCounts() {
+        BatchResult a = new BatchResult(4, 10);
+        BatchResult b = new BatchResult(4, 10);
+        Game game = new Game(10, true);
+        game.run();
+        a.record(game);
+        b.record(game);
+        a.merge(b);
+        assertEquals(2, a.getGames());
+        assertEquals(2, a.getGamesOfLength(game.getCurrentRound()));
+    }
+}
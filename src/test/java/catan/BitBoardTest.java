@@ -0,0 +1,130 @@
+package catan;
+
+import org.junit.Test;
+import org.junit.Before;
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+public class BitBoardTest {
+    private Board board;
+    private BitBoard bits;
+    private Player[] players;
+
+    @Before
+    public void setUp() {
+        board = new Board(BoardLayout.createStandardLayout(new Random(7)));
+        bits = board.getBitBoard();
+        players = new Player[4];
+        for (int i = 0; i < 4; i++) {
+            players[i] = new Player(i + 1, new RandomStrategy());
+        }
+    }
+
+    @Test
+    public void testEmptyBoardHasNoOccupancy() {
+        assertEquals(0L, bits.getOccupiedNodes());
+        for (int e = 0; e < BitBoard.EDGE_COUNT; e++) {
+            assertFalse(bits.isEdgeOccupied(e));
+        }
+    }
+
+    @Test
+    public void testNeighborMaskMatchesAdjacentNodes() {
+        for (Node n : board.getNodes()) {
+            long expected = 0L;
+            for (Node neighbor : board.getAdjacentNodes(n)) {
+                expected |= 1L << neighbor.getId();
+            }
+            assertEquals(expected, bits.getNeighborMask(n.getId()));
+        }
+    }
+
+    @Test
+    public void testCityReplacesSettlementBit() {
+        Node n = board.getNode(10);
+        board.setBuilding(n, new Settlement(players[0]));
+        assertTrue(bits.isCitySpot(players[0], 10));
+        board.setBuilding(n, new City(players[0]));
+        assertFalse(bits.isCitySpot(players[0], 10));
+        assertEquals(1L << 10, bits.getCities(players[0]));
+        assertEquals(0L, bits.getSettlements(players[0]));
+        assertTrue(bits.isNodeOccupied(10));
+    }
+
+    @Test
+    public void testAgreesWithObjectGraphDuringRandomPlacement() {
+        Random rng = new Random(42);
+        for (int step = 0; step < 120; step++) {
+            Player p = players[rng.nextInt(players.length)];
+            if (rng.nextInt(3) == 0) {
+                Node n = board.getNode(rng.nextInt(BitBoard.NODE_COUNT));
+                if (!board.isOccupied(n)) {
+                    board.setBuilding(n, new Settlement(p));
+                } else if (board.getBuilding(n) instanceof Settlement) {
+                    board.setBuilding(n, new City(board.getOwner(n)));
+                }
+            } else {
+                Edge e = board.getEdge(rng.nextInt(BitBoard.EDGE_COUNT));
+                if (!board.isOccupied(e)) board.setRoad(e, new Road(p));
+            }
+            assertAgrees();
+        }
+    }
+
+    @Test
+    public void testSpotsFollowRemovals() {
+        Random rng = new Random(43);
+        for (int step = 0; step < 300; step++) {
+            Player p = players[rng.nextInt(players.length)];
+            if (rng.nextInt(3) == 0) {
+                Node n = board.getNode(rng.nextInt(BitBoard.NODE_COUNT));
+                board.setBuilding(n, board.isOccupied(n) ? null : new Settlement(p));
+            } else {
+                Edge e = board.getEdge(rng.nextInt(BitBoard.EDGE_COUNT));
+                board.setRoad(e, board.isOccupied(e) ? null : new Road(p));
+            }
+            assertAgrees();
+        }
+    }
+
+    private void assertAgrees() {
+        for (Player p : players) {
+            for (Node n : board.getNodes()) {
+                assertEquals(board.isOccupied(n), bits.isNodeOccupied(n.getId()));
+                assertEquals(graphSettlementSpot(p, n), bits.isSettlementSpot(p, n.getId()));
+                assertEquals(board.getOwner(n) == p && board.getBuilding(n) instanceof Settlement,
+                    bits.isCitySpot(p, n.getId()));
+            }
+            for (Edge e : board.getAllEdges()) {
+                assertEquals(board.isOccupied(e), bits.isEdgeOccupied(e.getId()));
+                assertEquals(graphRoadSpot(p, e), bits.isRoadSpot(p, e.getId()));
+            }
+        }
+    }
+
+    // Reference rules written directly against the Node/Edge graph
+    private boolean graphSettlementSpot(Player p, Node n) {
+        if (board.isOccupied(n)) return false;
+        for (Node neighbor : board.getAdjacentNodes(n)) {
+            if (board.isOccupied(neighbor)) return false;
+        }
+        for (Edge e : n.getIncidentEdges()) {
+            if (board.isOccupied(e) && board.getRoad(e).getOwner() == p) return true;
+        }
+        return false;
+    }
+
+    private boolean graphRoadSpot(Player p, Edge e) {
+        if (board.isOccupied(e)) return false;
+        return graphConnects(p, e.getA()) || graphConnects(p, e.getB());
+    }
+
+    private boolean graphConnects(Player p, Node node) {
+        if (board.isOccupied(node)) return board.getOwner(node) == p;
+        for (Edge e : node.getIncidentEdges()) {
+            if (board.isOccupied(e) && board.getRoad(e).getOwner() == p) return true;
+        }
+        return false;
+    }
+}
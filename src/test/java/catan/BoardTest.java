@@ -4,6 +4,8 @@ import org.junit.Test;
 import org.junit.Before;
 import static org.junit.Assert.*;
 
+import java.util.Random;
+
 public class BoardTest {
     private Board board;
 
@@ -64,12 +66,30 @@ public class BoardTest {
         assertSame(e1, e2);
     }
 
+    @Test
+    public void testEdgeLookupCoversEveryPair() {
+        int found = 0;
+        for (int a = 0; a < 54; a++) {
+            for (int b = 0; b < 54; b++) {
+                Edge e = board.getEdge(a, b);
+                if (e == null) continue;
+                found++;
+                assertSame(e, board.getEdge(e.getId()));
+                assertSame(board.getNode(b), e.getOtherNode(board.getNode(a)));
+            }
+        }
+        // Every edge is found once from each end
+        assertEquals(2 * 72, found);
+        assertNull(board.getEdge(0, 53));
+        assertNull(board.getEdge(-1, 0));
+    }
+
     @Test
     public void testNodesStartUnoccupied() {
         for (Node n : board.getNodes()) {
             if (n != null) {
-                assertFalse(n.isOccupied());
-                assertNull(n.getOwner());
+                assertFalse(board.isOccupied(n));
+                assertNull(board.getOwner(n));
             }
         }
     }
@@ -77,8 +97,8 @@ public class BoardTest {
     @Test
     public void testEdgesStartUnoccupied() {
         for (Edge e : board.getAllEdges()) {
-            assertFalse(e.isOccupied());
-            assertNull(e.getRoad());
+            assertFalse(board.isOccupied(e));
+            assertNull(board.getRoad(e));
         }
     }
 
@@ -86,7 +106,7 @@ public class BoardTest {
     public void testDesertTileExists() {
         boolean found = false;
         for (Tile t : board.getTiles()) {
-            if (t != null && t.getTerrain() == TerrainType.DESERT) {
+            if (t != null && board.getTerrain(t) == TerrainType.DESERT) {
                 found = true;
                 break;
             }
@@ -97,27 +117,91 @@ public class BoardTest {
     @Test
     public void testDesertProducesNothing() {
         for (Tile t : board.getTiles()) {
-            if (t != null && t.getTerrain() == TerrainType.DESERT) {
-                assertNull(t.getProducedResource());
-                assertFalse(t.producesOn(7));
-                assertFalse(t.producesOn(2));
+            if (t != null && board.getTerrain(t) == TerrainType.DESERT) {
+                assertNull(board.getProducedResource(t));
+                assertFalse(board.producesOn(t, 7));
+                assertFalse(board.producesOn(t, 2));
             }
         }
     }
 
     @Test
     public void testTerrainResourceMapping() {
-        assertEquals(ResourceType.BRICK, new Tile(0, TerrainType.HILLS, 5).getProducedResource());
-        assertEquals(ResourceType.LUMBER, new Tile(0, TerrainType.FOREST, 5).getProducedResource());
-        assertEquals(ResourceType.ORE, new Tile(0, TerrainType.MOUNTAINS, 5).getProducedResource());
-        assertEquals(ResourceType.GRAIN, new Tile(0, TerrainType.FIELDS, 5).getProducedResource());
-        assertEquals(ResourceType.WOOL, new Tile(0, TerrainType.PASTURE, 5).getProducedResource());
+        assertEquals(ResourceType.BRICK, TerrainType.HILLS.getResource());
+        assertEquals(ResourceType.LUMBER, TerrainType.FOREST.getResource());
+        assertEquals(ResourceType.ORE, TerrainType.MOUNTAINS.getResource());
+        assertEquals(ResourceType.GRAIN, TerrainType.FIELDS.getResource());
+        assertEquals(ResourceType.WOOL, TerrainType.PASTURE.getResource());
+        assertNull(TerrainType.DESERT.getResource());
     }
 
     @Test
     public void testTileProducesOnCorrectRoll() {
-        Tile tile = new Tile(0, TerrainType.FIELDS, 8);
-        assertTrue(tile.producesOn(8));
-        assertFalse(tile.producesOn(6));
+        for (Tile t : board.getTiles()) {
+            if (board.getTerrain(t) == TerrainType.DESERT) continue;
+            int token = board.getToken(t);
+            assertTrue(board.producesOn(t, token));
+            assertFalse(board.producesOn(t, token == 6 ? 8 : 6));
+            assertEquals(board.getTerrain(t).getResource(), board.getProducedResource(t));
+        }
+    }
+
+    @Test
+    public void testBoardsShareShapeButNotOccupancy() {
+        Board other = new Board(BoardLayout.createStandardLayout(new Random(3)));
+        assertSame(board.getNode(10), other.getNode(10));
+        assertSame(board.getEdge(5), other.getEdge(5));
+        assertSame(board.getTile(4), other.getTile(4));
+        assertSame(board.getActionSpace(), other.getActionSpace());
+
+        Player p = new Player(1, null);
+        board.setBuilding(board.getNode(10), p.getSettlementPiece());
+        board.setRoad(board.getEdge(5), p.getRoadPiece());
+        assertTrue(board.isOccupied(board.getNode(10)));
+        assertFalse(other.isOccupied(other.getNode(10)));
+        assertFalse(other.isOccupied(other.getEdge(5)));
+        assertFalse(other.getBitBoard().isNodeOccupied(10));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSharedAdjacencyIsReadOnly() {
+        board.getNode(0).getIncidentEdges().clear();
+    }
+
+    @Test
+    public void testTileSpecCornersAreCopies() {
+        TileSpec spec = board.getLayout().getTileDefinitions().get(0);
+        int first = spec.getCornerNodeIds()[0];
+        spec.getCornerNodeIds()[0] = -1;
+        assertEquals(first, spec.getCornerNodeIds()[0]);
+        assertEquals(first, BoardLayout.createStandardLayout().getTileDefinitions().get(0)
+            .getCornerNodeIds()[0]);
+    }
+
+    @Test
+    public void testTopologyIsSharedAndMatchesObjectGraph() {
+        Board other = new Board(BoardLayout.createStandardLayout());
+        assertSame(BoardTopology.STANDARD, board.getTopology());
+        assertSame(board.getTopology(), other.getTopology());
+
+        BoardTopology topology = board.getTopology();
+        for (Node n : board.getNodes()) {
+            int edges = 0;
+            while (edges < BoardTopology.MAX_DEGREE && topology.getNodeEdge(n.getId(), edges) >= 0) {
+                Edge e = board.getEdge(topology.getNodeEdge(n.getId(), edges));
+                assertNotNull(e.getOtherNode(n));
+                edges++;
+            }
+            assertEquals(n.getIncidentEdges().size(), edges);
+
+            int tiles = 0;
+            while (tiles < BoardTopology.MAX_DEGREE && topology.getNodeTile(n.getId(), tiles) >= 0) {
+                Tile t = board.getTile(topology.getNodeTile(n.getId(), tiles));
+                assertTrue(n.getAdjacentTiles().contains(t));
+                tiles++;
+            }
+            assertEquals(n.getAdjacentTiles().size(), tiles);
+            assertEquals(edges, Long.bitCount(topology.getNeighborMask(n.getId())));
+        }
     }
 }
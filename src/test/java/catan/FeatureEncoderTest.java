@@ -0,0 +1,61 @@
+package catan;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class FeatureEncoderTest {
+
+    private GameState midGame() {
+        return TestGames.midGame(909L, 40).getGameState();
+    }
+
+    @Test
+    public void testCountsMatchBoard() {
+        GameState state = midGame();
+        FeatureEncoder encoder = new FeatureEncoder(4);
+        int[] features = new int[encoder.size()];
+        Player self = state.getPlayers()[2];
+        encoder.encode(state, self, features);
+
+        // Self comes first: its settlements and roads open the first two planes
+        int settlements = 0;
+        for (int i = 0; i < BitBoard.NODE_COUNT; i++) settlements += features[i];
+        assertEquals(Long.bitCount(state.getBoard().getBitBoard().getSettlements(self)), settlements);
+
+        int total = 0;
+        for (int f : features) total += f;
+        int expected = 0;
+        for (Player p : state.getPlayers()) {
+            expected += Long.bitCount(state.getBoard().getBitBoard().getSettlements(p));
+            expected += Long.bitCount(state.getBoard().getBitBoard().getCities(p));
+            expected += Long.bitCount(state.getBoard().getBitBoard().getRoadsLo(p));
+            expected += Long.bitCount(state.getBoard().getBitBoard().getRoadsHi(p));
+            expected += p.handSize() + p.getVP();
+            expected += p.getPieces().roadsRemaining() + p.getPieces().settlementsRemaining()
+                + p.getPieces().citiesRemaining();
+        }
+        Board board = state.getBoard();
+        for (Tile t : board.getTiles()) expected += 1 + board.getToken(t);
+        assertEquals(expected, total);
+    }
+
+    @Test
+    public void testFloatAndIntAgreeAndBufferIsReused() {
+        GameState state = midGame();
+        FeatureEncoder encoder = new FeatureEncoder(4);
+        int[] ints = new int[encoder.size()];
+        float[] floats = new float[encoder.size()];
+        Player self = state.getPlayers()[0];
+
+        encoder.encode(state, state.getPlayers()[1], ints);
+        encoder.encode(state, self, ints);
+        encoder.encode(state, self, floats);
+        for (int i = 0; i < ints.length; i++) {
+            assertEquals(ints[i], floats[i], 0.0f);
+        }
+
+        int[] fresh = new int[encoder.size()];
+        encoder.encode(state, self, fresh);
+        assertArrayEquals(fresh, ints);
+    }
+}
@@ -0,0 +1,88 @@
+package catan;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+public class GameRecordTest {
+
+    private GameRecord recordGame(long seed) {
+        Game game = new Game(100, true, seed);
+        GameRecorder recorder = new GameRecorder(game);
+        game.run();
+        return recorder.toRecord();
+    }
+
+    @Test
+    public void testBytesRoundTrip() {
+        GameRecord record = recordGame(5L);
+        GameRecord copy = GameRecord.fromBytes(record.toBytes());
+
+        assertEquals(record.getSeed(), copy.getSeed());
+        assertEquals(record.getMaxRounds(), copy.getMaxRounds());
+        assertEquals(record.getTurnCount(), copy.getTurnCount());
+        for (int t = 0; t < record.getTurnCount(); t++) {
+            assertEquals(record.getRoll(t), copy.getRoll(t));
+            assertEquals(record.getBuildCount(t), copy.getBuildCount(t));
+            for (int i = 0; i < record.getBuildCount(t); i++) {
+                assertEquals(record.getBuildId(t, i), copy.getBuildId(t, i));
+            }
+        }
+    }
+
+    @Test
+    public void testNegativeSeedRoundTrips() {
+        GameRecord record = recordGame(-77L);
+        assertEquals(-77L, GameRecord.fromBytes(record.toBytes()).getSeed());
+    }
+
+    @Test
+    public void testRecordIsCompact() {
+        GameRecord record = recordGame(11L);
+        // About one byte per turn plus the builds
+        assertTrue(record.toBytes().length < 64 + 3 * record.getTurnCount());
+    }
+
+    @Test
+    public void testStreamHoldsSeveralRecords() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        recordGame(1L).writeTo(out);
+        recordGame(2L).writeTo(out);
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+
+        assertEquals(1L, GameRecord.readFrom(in).getSeed());
+        assertEquals(2L, GameRecord.readFrom(in).getSeed());
+        assertNull(GameRecord.readFrom(in));
+    }
+
+    @Test
+    public void testReplayReachesSameFinalState() {
+        Game original = new Game(100, true, 21L);
+        GameRecorder recorder = new GameRecorder(original);
+        original.run();
+
+        Game replayed = GameReplayer.replay(GameRecord.fromBytes(recorder.toRecord().toBytes()));
+
+        assertEquals(original.getCurrentRound(), replayed.getCurrentRound());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(original.getPlayers()[i].getVP(), replayed.getPlayers()[i].getVP());
+            assertEquals(original.getPlayers()[i].getHand().toString(),
+                replayed.getPlayers()[i].getHand().toString());
+        }
+        for (Edge e : original.getBoard().getAllEdges()) {
+            assertEquals(original.getBoard().isOccupied(e), replayed.getBoard().isOccupied(e));
+        }
+    }
+
+    @Test
+    public void testReplayStopsAtRequestedTurn() {
+        GameRecord record = recordGame(8L);
+        Game partial = GameReplayer.replay(record, 10);
+        // 10 turns with 4 players is 2 full rounds plus 2 turns into round 3
+        assertEquals(3, partial.getCurrentRound());
+        assertFalse(partial.isOver());
+    }
+}
@@ -0,0 +1,73 @@
+package catan;
+
+import org.junit.Test;
+import org.junit.Before;
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.Random;
+
+public class GameStateTest {
+    private Game game;
+    private GameState state;
+    private ActionGenerator generator;
+
+    @Before
+    public void setUp() {
+        game = TestGames.midGame(4242L, 80);
+        state = game.getGameState();
+        generator = new ActionGenerator();
+    }
+
+    @Test
+    public void testApplyThenUndoRestoresEverything() {
+        Random rng = new Random(1);
+        // Plenty of cards so every kind of build shows up
+        TestGames.stock(state, 3, state.getPlayers());
+        String before = TestGames.snapshot(state);
+
+        int applied = 0;
+        for (int step = 0; step < 12; step++) {
+            Player p = state.getPlayers()[rng.nextInt(4)];
+            List<Action> actions = generator.getExecutableActions(state, p, false);
+            Action a = actions.get(rng.nextInt(actions.size()));
+            state.apply(a, p);
+            applied++;
+        }
+        assertEquals(applied, state.getUndoDepth());
+        for (int i = 0; i < applied; i++) {
+            state.undo();
+        }
+
+        assertEquals(0, state.getUndoDepth());
+        assertEquals(before, TestGames.snapshot(state));
+    }
+
+    @Test
+    public void testUndoCityBringsBackSettlement() {
+        Player p = state.getPlayers()[0];
+        Board board = state.getBoard();
+        Node settlement = null;
+        for (Node n : board.getNodes()) {
+            if (board.getBuilding(n) == p.getSettlementPiece()) settlement = n;
+        }
+        assertNotNull(settlement);
+        state.getBank().payTo(p, ResourceType.ORE, 3);
+        state.getBank().payTo(p, ResourceType.GRAIN, 2);
+        int vp = p.getVP();
+
+        state.apply(new UpgradeToCityAction(settlement), p);
+        assertTrue(board.getBuilding(settlement) instanceof City);
+        state.undo();
+
+        assertTrue(board.getBuilding(settlement) instanceof Settlement);
+        assertEquals(p, board.getOwner(settlement));
+        assertEquals(vp, p.getVP());
+        assertTrue(state.getBoard().getBitBoard().isCitySpot(p, settlement.getId()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUndoWithNothingAppliedFails() {
+        state.undo();
+    }
+}
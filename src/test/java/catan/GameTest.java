@@ -0,0 +1,139 @@
+package catan;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+public class GameTest {
+
+    @Test
+    public void testHeadlessGameRunsToCompletion() {
+        Game game = new Game(200, true);
+        game.run();
+
+        assertTrue(game.getCurrentRound() >= 1);
+        assertTrue(game.getCurrentRound() <= 200);
+        Player winner = game.getWinner();
+        if (winner != null) {
+            assertTrue(winner.getVP() >= 10);
+        } else {
+            assertEquals(200, game.getCurrentRound());
+        }
+    }
+
+    @Test
+    public void testHeadlessGamePrintsNothing() {
+        PrintStream original = System.out;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured));
+        try {
+            new Game(50, true).run();
+        } finally {
+            System.setOut(original);
+        }
+        assertEquals(0, captured.size());
+    }
+
+    @Test
+    public void testObserverSeesEveryTurn() {
+        int[] turns = new int[1];
+        Game game = new Game(5, true);
+        game.addObserver(new GameObserver() {
+            @Override
+            public void onTurnComplete(Board board, Player[] players, int round, String status) {
+                turns[0]++;
+            }
+        });
+        game.run();
+
+        // One call after setup, one per player turn, one at game end
+        assertTrue(turns[0] >= 2);
+        assertTrue(turns[0] <= 1 + 5 * 4 + 1);
+    }
+
+    @Test
+    public void testSameSeedPlaysIdenticalGame() {
+        Game first = new Game(100, true, 12345L);
+        first.run();
+        Game second = new Game(100, true, 12345L);
+        second.run();
+
+        assertEquals(fingerprint(first), fingerprint(second));
+    }
+
+    @Test
+    public void testDifferentSeedsPlayDifferentGames() {
+        Game first = new Game(100, true, 1L);
+        first.run();
+        Game second = new Game(100, true, 2L);
+        second.run();
+
+        assertNotEquals(fingerprint(first), fingerprint(second));
+    }
+
+    private String fingerprint(Game game) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(game.getCurrentRound()).append('|');
+        Board board = game.getBoard();
+        for (Tile t : board.getTiles()) {
+            sb.append(board.getTerrain(t)).append(board.getToken(t)).append(',');
+        }
+        for (Node n : board.getNodes()) {
+            sb.append(board.isOccupied(n) ? board.getOwner(n).getId() : 0);
+        }
+        for (Edge e : board.getAllEdges()) {
+            sb.append(board.isOccupied(e) ? board.getRoad(e).getOwner().getId() : 0);
+        }
+        for (Player p : game.getPlayers()) {
+            sb.append('|').append(p.getVP()).append(':').append(p.getHand());
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testResetGamePlaysLikeANewOne() {
+        AgentStrategy[] seats = {new GreedyStrategy(), null, null, null};
+        Game fresh = new Game(120, true, 42L,
+            new AgentStrategy[] {new GreedyStrategy(), null, null, null});
+        GameRecorder expected = new GameRecorder(fresh);
+        fresh.run();
+
+        Game reused = new Game(120, true, 7L, seats);
+        reused.run();
+        reused.reset(42L);
+        GameState state = reused.getGameState();
+        assertEquals(0, state.getBoard().getBitBoard().getOccupiedNodes());
+        assertEquals(ZobristHash.compute(state.getBoard(), state.getBank(), state.getPlayers()),
+            state.getHash());
+
+        GameRecorder actual = new GameRecorder(reused);
+        reused.run();
+        assertArrayEquals(expected.toRecord().toBytes(), actual.toRecord().toBytes());
+        assertEquals(fresh.getCurrentRound(), reused.getCurrentRound());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(fresh.getPlayers()[i].getVP(), reused.getPlayers()[i].getVP());
+            assertEquals(fresh.getPlayers()[i].handSize(), reused.getPlayers()[i].handSize());
+        }
+        assertEquals(ZobristHash.compute(state.getBoard(), state.getBank(), state.getPlayers()),
+            state.getHash());
+    }
+
+    @Test
+    public void testResetWithNewStrategiesPlaysLikeANewOne() {
+        Game fresh = new Game(120, true, 43L,
+            new AgentStrategy[] {null, new GreedyStrategy(), null, null});
+        GameRecorder expected = new GameRecorder(fresh);
+        fresh.run();
+
+        Game reused = new Game(120, true, 8L,
+            new AgentStrategy[] {new GreedyStrategy(), null, null, null});
+        reused.run();
+        reused.reset(43L, new AgentStrategy[] {null, new GreedyStrategy(), null, null});
+        GameRecorder actual = new GameRecorder(reused);
+        reused.run();
+        assertArrayEquals(expected.toRecord().toBytes(), actual.toRecord().toBytes());
+        assertEquals(fresh.getCurrentRound(), reused.getCurrentRound());
+    }
+}
@@ -0,0 +1,126 @@
+package catan;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+public class GreedyStrategyTest {
+
+    @Test
+    public void testNodeValuesCountPips() {
+        GameState state = TestGames.midGame(61L, 40).getGameState();
+        GreedyStrategy greedy = new GreedyStrategy();
+        Player p = state.getPlayers()[0];
+        greedy.select(new ActionGenerator()
+            .getExecutableActions(state, p, false), state, p);
+
+        Board board = state.getBoard();
+        for (Node n : board.getNodes()) {
+            int pips = 0;
+            for (Tile t : n.getAdjacentTiles()) {
+                if (board.getProducedResource(t) != null) {
+                    pips += 6 - Math.abs(7 - board.getToken(t));
+                }
+            }
+            int value = greedy.getNodeValue(n.getId());
+            assertTrue(value >= 10 * pips);
+            assertTrue(value <= 10 * pips + 6 * 3);
+        }
+    }
+
+    @Test
+    public void testPrefersCityThenSettlement() {
+        GameState state = TestGames.midGame(62L, 40).getGameState();
+        Player p = state.getPlayers()[1];
+        TestGames.stock(state, 4, p);
+        ActionGenerator generator = new ActionGenerator();
+        List<Action> options = generator.getExecutableActions(state, p, false);
+        Action chosen = new GreedyStrategy().select(options, state, p);
+
+        boolean hasCity = false;
+        boolean hasSettlement = false;
+        for (Action a : options) {
+            hasCity |= a instanceof UpgradeToCityAction;
+            hasSettlement |= a instanceof BuildSettlementAction;
+        }
+        if (hasCity) {
+            assertTrue(chosen instanceof UpgradeToCityAction);
+        } else if (hasSettlement) {
+            assertTrue(chosen instanceof BuildSettlementAction);
+        }
+    }
+
+    @Test
+    public void testIdAndListChoicesAgree() {
+        GameState state = TestGames.midGame(63L, 40).getGameState();
+        GreedyStrategy greedy = new GreedyStrategy();
+        ActionGenerator generator = new ActionGenerator();
+        int[] ids = new int[ActionIds.COUNT];
+        for (Player p : state.getPlayers()) {
+            state.getBank().payTo(p, ResourceType.BRICK, 2);
+            state.getBank().payTo(p, ResourceType.LUMBER, 2);
+            int count = generator.getExecutableActionIds(state, p, false, ids);
+            Action fromList = greedy.select(generator.getExecutableActions(state, p, false), state, p);
+            assertEquals(ActionIds.idOf(fromList), greedy.selectId(ids, count, state, p));
+        }
+    }
+
+    @Test
+    public void testCachedReachFollowsTheBoard() {
+        GameState state = TestGames.midGame(64L, 40).getGameState();
+        GreedyStrategy cached = new GreedyStrategy();
+        ActionGenerator generator = new ActionGenerator();
+        ActionSpace space = state.getBoard().getActionSpace();
+        int[] ids = new int[ActionIds.COUNT];
+        for (int step = 0; step < 16; step++) {
+            Player p = state.getPlayers()[step % 4];
+            if (state.getBank().canPay(ResourceType.BRICK, 1)
+                    && state.getBank().canPay(ResourceType.LUMBER, 1)) {
+                state.getBank().payTo(p, ResourceType.BRICK, 1);
+                state.getBank().payTo(p, ResourceType.LUMBER, 1);
+            }
+            int count = generator.getExecutableActionIds(state, p, false, ids);
+            int chosen = cached.selectId(ids, count, state, p);
+            assertEquals(new GreedyStrategy().selectId(ids, count, state, p), chosen);
+            if (chosen < ActionIds.SETTLEMENT_BASE) {
+                // The road's far end must be the one not yet joined to p's network
+                int edge = chosen - ActionIds.ROAD_BASE;
+                BitBoard bits = state.getBoard().getBitBoard();
+                BoardTopology topology = bits.getTopology();
+                boolean joinedA = touchesNetwork(bits, p, topology.getEdgeNodeA(edge));
+                boolean joinedB = touchesNetwork(bits, p, topology.getEdgeNodeB(edge));
+                assertTrue(joinedA != joinedB);
+            }
+            if (chosen != ActionIds.PASS) state.apply(space.get(chosen), p);
+        }
+    }
+
+    private static boolean touchesNetwork(BitBoard bits, Player p, int node) {
+        long bit = 1L << node;
+        if (((bits.getSettlements(p) | bits.getCities(p)) & bit) != 0) return true;
+        if (bits.isNodeOccupied(node)) return false;
+        for (int k = 0; k < BoardTopology.MAX_DEGREE; k++) {
+            int e = bits.getTopology().getNodeEdge(node, k);
+            if (e < 0) break;
+            long roads = e < 64 ? bits.getRoadsLo(p) >>> e : bits.getRoadsHi(p) >>> (e - 64);
+            if ((roads & 1) != 0) return true;
+        }
+        return false;
+    }
+
+    @Test
+    public void testGreedyOutscoresRandomSeats() {
+        int[] vp = new int[4];
+        for (int g = 0; g < 40; g++) {
+            AgentStrategy[] seats = {new GreedyStrategy(), null, null, null};
+            Game game = new Game(150, true, 1000L + g, seats);
+            game.run();
+            for (int i = 0; i < 4; i++) vp[i] += game.getPlayers()[i].getVP();
+        }
+        // Without trading many games stall, so compare total VP rather than wins
+        for (int i = 1; i < 4; i++) {
+            assertTrue("greedy " + vp[0] + " vs seat " + i + " " + vp[i], vp[0] > vp[i]);
+        }
+    }
+}
@@ -27,7 +27,7 @@ public class LongestRoadTest {
     @Test
     public void testSingleRoadReturnsOne() {
         Edge e = board.getAllEdges().get(0);
-        e.setRoad(new Road(p1, e));
+        board.setRoad(e, new Road(p1));
         assertEquals(1, tracker.calculateLongestRoad(p1, board));
     }
 
@@ -40,8 +40,8 @@ public class LongestRoadTest {
 
         for (int i = 0; i < 3 && current != null; i++) {
             for (Edge e : current.getIncidentEdges()) {
-                if (!e.isOccupied()) {
-                    e.setRoad(new Road(p1, e));
+                if (!board.isOccupied(e)) {
+                    board.setRoad(e, new Road(p1));
                     current = e.getOtherNode(current);
                     roadsPlaced++;
                     break;
@@ -61,8 +61,8 @@ public class LongestRoadTest {
 
         for (int i = 0; i < 3 && n != null; i++) {
             for (Edge e : n.getIncidentEdges()) {
-                if (!e.isOccupied()) {
-                    e.setRoad(new Road(p1, e));
+                if (!board.isOccupied(e)) {
+                    board.setRoad(e, new Road(p1));
                     Node next = e.getOtherNode(n);
                     if (i == 0) mid = next;
                     n = next;
@@ -75,7 +75,7 @@ public class LongestRoadTest {
         if (mid != null && count >= 3) {
             int before = tracker.calculateLongestRoad(p1, board);
             // Place opponent building at middle node to break the chain
-            mid.setBuilding(new Settlement(p2, mid));
+            board.setBuilding(mid, new Settlement(p2));
             int after = tracker.calculateLongestRoad(p1, board);
             assertTrue("Opponent building should break road chain", after < before);
         }
@@ -90,8 +90,8 @@ public class LongestRoadTest {
         Node current = board.getNode(0);
         for (int i = 0; i < 5 && current != null; i++) {
             for (Edge e : current.getIncidentEdges()) {
-                if (!e.isOccupied()) {
-                    e.setRoad(new Road(p1, e));
+                if (!board.isOccupied(e)) {
+                    board.setRoad(e, new Road(p1));
                     current = e.getOtherNode(current);
                     break;
                 }
@@ -106,4 +106,42 @@ public class LongestRoadTest {
             assertEquals(p1, tracker.getCurrentHolder());
         }
     }
+
+    @Test
+    public void testRingOfSixCountsEachRoadOnce() {
+        // Roads around all six sides of one hex form a loop of length 6
+        java.util.List<Node> corners = board.getTile(0).getCornerNodes();
+        for (int i = 0; i < 6; i++) {
+            Edge e = board.getEdge(corners.get(i).getId(), corners.get((i + 1) % 6).getId());
+            board.setRoad(e, new Road(p1));
+        }
+        assertEquals(6, tracker.calculateLongestRoad(p1, board));
+    }
+
+    @Test
+    public void testIncrementalUpdatesMatchFullRecount() {
+        Player[] players = {p1, p2};
+        ActionLogger logger = new ActionLogger(false);
+        LongestRoadTracker full = new LongestRoadTracker();
+        tracker.update(players, board, logger, 0);
+        full.update(players, board, logger, 0);
+
+        java.util.Random rng = new java.util.Random(3);
+        for (int step = 0; step < 150; step++) {
+            Player p = players[rng.nextInt(2)];
+            if (rng.nextInt(4) == 0) {
+                Node n = board.getNode(rng.nextInt(54));
+                if (board.isOccupied(n)) continue;
+                board.setBuilding(n, new Settlement(p));
+                tracker.settlementBuilt(p, n, players, board, logger, 1);
+            } else {
+                Edge e = board.getEdge(rng.nextInt(72));
+                if (board.isOccupied(e)) continue;
+                board.setRoad(e, new Road(p));
+                tracker.roadBuilt(p, e, players, board, logger, 1);
+            }
+            full.update(players, board, logger, 1);
+            assertEquals(full.getCurrentHolder(), tracker.getCurrentHolder());
+        }
+    }
 }
@@ -0,0 +1,93 @@
+package catan;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+public class MctsStrategyTest {
+
+    @Test
+    public void testSearchLeavesStateUntouched() {
+        Game game = TestGames.midGame(31L, 60);
+        GameState state = game.getGameState();
+        Player p = state.getPlayers()[0];
+        TestGames.stock(state, 2, p);
+        ActionGenerator generator = new ActionGenerator();
+        List<Action> options = generator.getExecutableActions(state, p, false);
+        String before = TestGames.snapshot(state);
+
+        MctsStrategy mcts = new MctsStrategy(300, 1L);
+        Action chosen = mcts.select(options, state, p);
+
+        assertTrue(options.contains(chosen));
+        assertEquals(before, TestGames.snapshot(state));
+        assertEquals(0, state.getUndoDepth());
+    }
+
+    @Test
+    public void testSubtreeIsReusedWithinTurn() {
+        Game game = TestGames.midGame(32L, 60);
+        GameState state = game.getGameState();
+        Player p = state.getPlayers()[1];
+        TestGames.stock(state, 4, p);
+        ActionGenerator generator = new ActionGenerator();
+        MctsStrategy mcts = new MctsStrategy(200, 2L);
+
+        Action first = mcts.select(generator.getExecutableActions(state, p, false), state, p);
+        if (first instanceof PassAction) return;
+        int carried = mcts.getRootVisits();
+        first.execute(state, p);
+        assertTrue("chosen child should keep its visits", carried > 0);
+
+        mcts.select(generator.getExecutableActions(state, p, false), state, p);
+        assertTrue(mcts.getRootVisits() >= carried);
+    }
+
+    @Test
+    public void testTranspositionTableIsFilled() {
+        Game game = TestGames.midGame(33L, 60);
+        GameState state = game.getGameState();
+        Player p = state.getPlayers()[2];
+        TestGames.stock(state, 3, p);
+        ActionGenerator generator = new ActionGenerator();
+        List<Action> options = generator.getExecutableActions(state, p, false);
+        long hash = state.getHash();
+        TranspositionTable table = new TranspositionTable(1 << 12);
+
+        MctsStrategy mcts = new MctsStrategy(200, 0, 10, 4L, table);
+        Action chosen = mcts.select(options, state, p);
+
+        assertTrue(options.contains(chosen));
+        assertEquals(hash, state.getHash());
+        if (!(chosen instanceof PassAction)) {
+            chosen.execute(state, p);
+            assertTrue(table.visits(state.getHash()) > 0);
+        }
+    }
+
+    @Test
+    public void testGreedyRolloutsAreReproducible() {
+        GameState state = TestGames.midGame(34L, 60).getGameState();
+        Player p = state.getPlayers()[3];
+        TestGames.stock(state, 3, p);
+        List<Action> options = new ActionGenerator().getExecutableActions(state, p, false);
+        String before = TestGames.snapshot(state);
+
+        Action first = new MctsStrategy(150, 0, 10, 6L, null, true).select(options, state, p);
+        Action second = new MctsStrategy(150, 0, 10, 6L, null, true).select(options, state, p);
+
+        assertTrue(options.contains(first));
+        assertSame(first, second);
+        assertEquals(before, TestGames.snapshot(state));
+        assertEquals(0, state.getUndoDepth());
+    }
+
+    @Test
+    public void testGameWithMctsSeatFinishes() {
+        AgentStrategy[] seats = {new MctsStrategy(20, 0, 8, 3L), null, null, null};
+        Game game = new Game(30, true, 77L, seats);
+        game.run();
+        assertTrue(game.isOver());
+    }
+}
@@ -0,0 +1,95 @@
+package catan;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+public class ParallelMctsStrategyTest {
+
+    @Test
+    public void testCopyMatchesAndIsIndependent() {
+        GameState state = TestGames.midGame(41L, 60).getGameState();
+        TestGames.stock(state, 2, state.getPlayers()[0]);
+        GameState copy = state.copy();
+        assertEquals(TestGames.snapshot(state), TestGames.snapshot(copy));
+
+        Player p = copy.getPlayers()[0];
+        ActionGenerator generator = new ActionGenerator();
+        String before = TestGames.snapshot(state);
+        for (Action a : generator.getExecutableActions(copy, p, false)) {
+            if (!(a instanceof PassAction)) {
+                copy.apply(a, p);
+                break;
+            }
+        }
+        assertEquals(before, TestGames.snapshot(state));
+        assertNotEquals(before, TestGames.snapshot(copy));
+    }
+
+    @Test
+    public void testRootParallelPicksLegalMove() {
+        checkMode(ParallelMctsStrategy.Mode.ROOT);
+    }
+
+    @Test
+    public void testTreeParallelPicksLegalMove() {
+        checkMode(ParallelMctsStrategy.Mode.TREE);
+    }
+
+    @Test
+    public void testGreedyRolloutsInBothModes() {
+        GameState state = TestGames.midGame(43L, 60).getGameState();
+        Player p = state.getPlayers()[2];
+        TestGames.stock(state, 2, p);
+        List<Action> options = new ActionGenerator().getExecutableActions(state, p, false);
+        String before = TestGames.snapshot(state);
+
+        // Root parallel threads never share anything, so a fixed seed gives a fixed answer
+        Action[] picks = new Action[2];
+        for (int i = 0; i < picks.length; i++) {
+            ParallelMctsStrategy mcts = new ParallelMctsStrategy(
+                ParallelMctsStrategy.Mode.ROOT, 2, 120, 0, 10, 7L, true);
+            try {
+                picks[i] = mcts.select(options, state, p);
+            } finally {
+                mcts.shutdown();
+            }
+        }
+        assertTrue(options.contains(picks[0]));
+        assertSame(picks[0], picks[1]);
+
+        ParallelMctsStrategy tree = new ParallelMctsStrategy(
+            ParallelMctsStrategy.Mode.TREE, 2, 120, 0, 10, 7L, true);
+        try {
+            assertTrue(options.contains(tree.select(options, state, p)));
+            if (options.size() > 1) {
+                assertEquals(120, tree.getLastVisits());
+            }
+        } finally {
+            tree.shutdown();
+        }
+        assertEquals(before, TestGames.snapshot(state));
+    }
+
+    private void checkMode(ParallelMctsStrategy.Mode mode) {
+        GameState state = TestGames.midGame(42L, 60).getGameState();
+        Player p = state.getPlayers()[1];
+        TestGames.stock(state, 2, p);
+        ActionGenerator generator = new ActionGenerator();
+        List<Action> options = generator.getExecutableActions(state, p, false);
+        String before = TestGames.snapshot(state);
+
+        ParallelMctsStrategy mcts = new ParallelMctsStrategy(mode, 3, 240, 0, 10, 5L);
+        try {
+            Action chosen = mcts.select(options, state, p);
+            assertTrue(options.contains(chosen));
+            if (options.size() > 1) {
+                assertEquals(240, mcts.getLastVisits());
+            }
+        } finally {
+            mcts.shutdown();
+        }
+        assertEquals(before, TestGames.snapshot(state));
+    }
+}
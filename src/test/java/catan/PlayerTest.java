@@ -96,4 +96,15 @@ public class PlayerTest {
         player.getPieces().takeCity();
         assertEquals(3, player.getPieces().citiesRemaining());
     }
+
+    @Test
+    public void testHandSizeTracksAddRemoveAndPay() {
+        player.addResources(ResourceType.ORE, 3);
+        player.addResources(ResourceType.GRAIN, 4);
+        player.getHand().remove(ResourceType.GRAIN, 1);
+        assertEquals(6, player.handSize());
+        player.pay(Cost.cityCost());
+        assertEquals(1, player.handSize());
+        assertEquals(1, player.getHand().get(ResourceType.GRAIN));
+    }
 }
@@ -23,7 +23,7 @@ public class RuleEngineTest {
     public void testCanBuildRoadOnEmptyEdge() {
         // Place a settlement for player1 at node 0
         Node node0 = board.getNode(0);
-        node0.setBuilding(new Settlement(player1, node0));
+        board.setBuilding(node0, new Settlement(player1));
         player1.getPieces().takeSettlement();
 
         // Player should be able to build a road on an adjacent edge
@@ -34,10 +34,10 @@ public class RuleEngineTest {
     @Test
     public void testCannotBuildRoadOnOccupiedEdge() {
         Node node0 = board.getNode(0);
-        node0.setBuilding(new Settlement(player1, node0));
+        board.setBuilding(node0, new Settlement(player1));
 
         Edge edge = node0.getIncidentEdges().get(0);
-        edge.setRoad(new Road(player1, edge));
+        board.setRoad(edge, new Road(player1));
         player1.getPieces().takeRoad();
 
         assertFalse(rules.canBuildRoad(player1, edge));
@@ -56,15 +56,15 @@ public class RuleEngineTest {
     public void testCanBuildRoadExtendingFromRoad() {
         // Place settlement + road for player1
         Node node0 = board.getNode(0);
-        node0.setBuilding(new Settlement(player1, node0));
+        board.setBuilding(node0, new Settlement(player1));
         Edge firstEdge = node0.getIncidentEdges().get(0);
-        firstEdge.setRoad(new Road(player1, firstEdge));
+        board.setRoad(firstEdge, new Road(player1));
         player1.getPieces().takeRoad();
 
         // Find an edge adjacent to the other end of the first road
         Node otherEnd = firstEdge.getOtherNode(node0);
         for (Edge nextEdge : otherEnd.getIncidentEdges()) {
-            if (nextEdge != firstEdge && !nextEdge.isOccupied()) {
+            if (nextEdge != firstEdge && !board.isOccupied(nextEdge)) {
                 assertTrue(rules.canBuildRoad(player1, nextEdge));
                 return;
             }
@@ -75,17 +75,17 @@ public class RuleEngineTest {
     public void testOpponentSettlementBlocksRoadExtension() {
         // Player 1 places settlement at node 0 and road
         Node node0 = board.getNode(0);
-        node0.setBuilding(new Settlement(player1, node0));
+        board.setBuilding(node0, new Settlement(player1));
         Edge firstEdge = node0.getIncidentEdges().get(0);
-        firstEdge.setRoad(new Road(player1, firstEdge));
+        board.setRoad(firstEdge, new Road(player1));
 
         // Player 2 places settlement at the other end of player1's road
         Node otherEnd = firstEdge.getOtherNode(node0);
-        otherEnd.setBuilding(new Settlement(player2, otherEnd));
+        board.setBuilding(otherEnd, new Settlement(player2));
 
         // Player 1 should NOT be able to extend road through player2's settlement
         for (Edge nextEdge : otherEnd.getIncidentEdges()) {
-            if (nextEdge != firstEdge && !nextEdge.isOccupied()) {
+            if (nextEdge != firstEdge && !board.isOccupied(nextEdge)) {
                 assertFalse("Road should not extend through opponent settlement",
                     rules.canBuildRoad(player1, nextEdge));
             }
@@ -96,23 +96,23 @@ public class RuleEngineTest {
     public void testCanBuildSettlementWithRoadAndDistanceRule() {
         // Place a road from node 0 to node 1
         Node node0 = board.getNode(0);
-        node0.setBuilding(new Settlement(player1, node0));
+        board.setBuilding(node0, new Settlement(player1));
         Edge edge01 = board.getEdge(0, 1);
         if (edge01 != null) {
-            edge01.setRoad(new Road(player1, edge01));
+            board.setRoad(edge01, new Road(player1));
         }
 
         // Extend road further to get far enough from node 0
         Node node1 = board.getNode(1);
         for (Edge e : node1.getIncidentEdges()) {
             Node other = e.getOtherNode(node1);
-            if (other != null && other.getId() != 0 && !e.isOccupied()) {
-                e.setRoad(new Road(player1, e));
+            if (other != null && other.getId() != 0 && !board.isOccupied(e)) {
+                board.setRoad(e, new Road(player1));
                 // Check if the far node satisfies distance rule
                 boolean tooClose = false;
                 for (Edge adj : other.getIncidentEdges()) {
                     Node neighbor = adj.getOtherNode(other);
-                    if (neighbor != null && neighbor.isOccupied()) {
+                    if (neighbor != null && board.isOccupied(neighbor)) {
                         tooClose = true;
                         break;
                     }
@@ -133,20 +133,20 @@ public class RuleEngineTest {
     @Test
     public void testCannotBuildSettlementOnOccupiedNode() {
         Node node0 = board.getNode(0);
-        node0.setBuilding(new Settlement(player1, node0));
+        board.setBuilding(node0, new Settlement(player1));
         assertFalse(rules.canBuildSettlement(player2, node0));
     }
 
     @Test
     public void testDistanceRulePreventsAdjacentSettlement() {
         Node node0 = board.getNode(0);
-        node0.setBuilding(new Settlement(player1, node0));
+        board.setBuilding(node0, new Settlement(player1));
 
         // Node 1 is adjacent to node 0 — should fail distance rule
         Node node1 = board.getNode(1);
         Edge edge01 = board.getEdge(0, 1);
         if (edge01 != null) {
-            edge01.setRoad(new Road(player1, edge01));
+            board.setRoad(edge01, new Road(player1));
             assertFalse(rules.canBuildSettlement(player1, node1));
         }
     }
@@ -154,21 +154,21 @@ public class RuleEngineTest {
     @Test
     public void testCanUpgradeOwnSettlementToCity() {
         Node node0 = board.getNode(0);
-        node0.setBuilding(new Settlement(player1, node0));
+        board.setBuilding(node0, new Settlement(player1));
         assertTrue(rules.canUpgradeToCity(player1, node0));
     }
 
     @Test
     public void testCannotUpgradeOpponentSettlement() {
         Node node0 = board.getNode(0);
-        node0.setBuilding(new Settlement(player1, node0));
+        board.setBuilding(node0, new Settlement(player1));
         assertFalse(rules.canUpgradeToCity(player2, node0));
     }
 
     @Test
     public void testCannotUpgradeCityAgain() {
         Node node0 = board.getNode(0);
-        node0.setBuilding(new City(player1, node0));
+        board.setBuilding(node0, new City(player1));
         assertFalse(rules.canUpgradeToCity(player1, node0));
     }
 
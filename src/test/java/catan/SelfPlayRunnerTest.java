@@ -0,0 +1,126 @@
+package catan;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+public class SelfPlayRunnerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testShardsHoldEverySample() throws IOException {
+        Path dir = folder.getRoot().toPath();
+        int recordSize = SelfPlayRunner.recordSize();
+        ShardWriter writer = new ShardWriter(dir, "test", recordSize, 20, 2);
+        long samples;
+        try {
+            samples = new SelfPlayRunner(60, 2, 99L).run(12, writer);
+        } finally {
+            writer.close();
+        }
+        assertTrue(samples > 0);
+        assertEquals(samples, writer.getTotalRecords());
+        assertTrue(writer.getShardCount() > 1);
+
+        List<Path> shards;
+        try (Stream<Path> files = Files.list(dir)) {
+            shards = files.sorted().collect(Collectors.toList());
+        }
+        assertEquals(writer.getShardCount(), shards.size());
+
+        int featureSize = new FeatureEncoder(4).size();
+        byte[] record = new byte[recordSize];
+        long read = 0;
+        for (Path shard : shards) {
+            assertTrue(shard.getFileName().toString().endsWith(".bin.gz"));
+            try (DataInputStream in = new DataInputStream(new GZIPInputStream(Files.newInputStream(shard)))) {
+                while (true) {
+                    try {
+                        in.readFully(record);
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    read++;
+                    int at = featureSize;
+                    long[] mask = new long[ActionIds.MASK_WORDS];
+                    for (int w = 0; w < mask.length; w++) {
+                        for (int b = 0; b < 8; b++) {
+                            mask[w] = (mask[w] << 8) | (record[at++] & 0xFF);
+                        }
+                    }
+                    int action = ((record[at] & 0xFF) << 8) | (record[at + 1] & 0xFF);
+                    int seat = record[at + 2];
+                    int outcome = record[at + 3];
+                    assertTrue((mask[action >>> 6] & (1L << (action & 63))) != 0);
+                    assertTrue(seat >= 0 && seat < 4);
+                    assertTrue(outcome >= -1 && outcome <= 1);
+                }
+            }
+        }
+        assertEquals(samples, read);
+    }
+
+    @Test
+    public void testSameSeedGivesSameSampleCount() {
+        long first = countOnly(5L);
+        long second = countOnly(5L);
+        assertEquals(first, second);
+    }
+
+    @Test
+    public void testFailedShardIsRemoved() throws Exception {
+        Path dir = folder.getRoot().toPath();
+        // A non-empty directory where the first shard should land makes its rename fail
+        Files.createDirectories(dir.resolve("f-00000.bin.gz").resolve("blocker"));
+        ShardWriter writer = new ShardWriter(dir, "f", 4, 1, 2);
+        writer.submit(new byte[4]);
+        try {
+            writer.close();
+            fail("Expected the shard rename to fail");
+        } catch (UncheckedIOException expected) {
+        }
+        assertTrue(writer.hasFailed());
+        assertFalse(Files.exists(dir.resolve("f-00000.bin.gz.tmp")));
+    }
+
+    @Test(timeout = 10000)
+    public void testUncreatableDirectoryFailsOnClose() throws Exception {
+        // A regular file where a parent directory should be
+        Path file = folder.newFile("not-a-dir").toPath();
+        ShardWriter writer = new ShardWriter(file.resolve("shards"), "d", 4, 1, 2);
+        // More chunks than the queue holds, so a dead writer thread would block submit
+        for (int i = 0; i < 10; i++) {
+            writer.submit(new byte[4]);
+        }
+        try {
+            writer.close();
+            fail("Expected creating the shard directory to fail");
+        } catch (UncheckedIOException expected) {
+        }
+        assertTrue(writer.hasFailed());
+        assertEquals(0, writer.getShardCount());
+    }
+
+    private long countOnly(long seed) {
+        ShardWriter writer = new ShardWriter(folder.getRoot().toPath().resolve("s" + System.nanoTime()),
+            "c", SelfPlayRunner.recordSize(), 1_000_000, 4);
+        try {
+            return new SelfPlayRunner(40, 3, seed).run(6, writer);
+        } finally {
+            writer.close();
+        }
+    }
+}
@@ -63,12 +63,12 @@ public class SetupTest {
 
         // Check that no two buildings are on adjacent nodes
         for (Node n : board.getNodes()) {
-            if (n != null && n.isOccupied()) {
+            if (n != null && board.isOccupied(n)) {
                 for (Edge e : n.getIncidentEdges()) {
                     Node neighbor = e.getOtherNode(n);
                     if (neighbor != null) {
                         assertFalse("Adjacent nodes should not both have buildings",
-                            neighbor.isOccupied());
+                            board.isOccupied(neighbor));
                     }
                 }
             }
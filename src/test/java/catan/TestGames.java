@@ -0,0 +1,58 @@
+package catan;
+
+/**
+ * Shared fixtures for tests that need a game in progress rather than a fresh board.
+ */
+final class TestGames {
+    private TestGames() {
+    }
+
+    /** A seeded 100-round game after setup and up to the given number of turns. */
+    static Game midGame(long seed, int turns) {
+        Game game = new Game(100, true, seed);
+        game.setup();
+        for (int t = 0; t < turns && !game.isOver(); t++) {
+            game.playNextTurn();
+        }
+        return game;
+    }
+
+    /** Pays each of the given players count of every resource from the bank. */
+    static void stock(GameState state, int count, Player... players) {
+        for (Player p : players) {
+            for (ResourceType r : ResourceType.values()) {
+                state.getBank().payTo(p, r, count);
+            }
+        }
+    }
+
+    /**
+     * Buildings, roads, each player's VP, hand and pieces left, the bank and the longest
+     * road holder, as one string, so two positions can be compared with assertEquals.
+     */
+    static String snapshot(GameState state) {
+        StringBuilder sb = new StringBuilder();
+        Board board = state.getBoard();
+        for (Node n : board.getNodes()) {
+            Building b = board.getBuilding(n);
+            sb.append(b != null ? b.getOwner().getId() + (b instanceof City ? "C" : "S") : "-");
+        }
+        for (Edge e : board.getAllEdges()) {
+            sb.append(board.isOccupied(e) ? board.getRoad(e).getOwner().getId() : 0);
+        }
+        for (Player p : state.getPlayers()) {
+            sb.append('|').append(p.getVP()).append(':').append(p.getHand())
+                .append(':').append(p.getPieces().roadsRemaining())
+                .append(p.getPieces().settlementsRemaining())
+                .append(p.getPieces().citiesRemaining());
+        }
+        for (ResourceType r : ResourceType.values()) {
+            sb.append('|').append(state.getBank().getSupply(r));
+        }
+        LongestRoadTracker tracker = state.getLongestRoadTracker();
+        if (tracker != null && tracker.getCurrentHolder() != null) {
+            sb.append('|').append(tracker.getCurrentHolder().getId());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,74 @@
+package catan;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class TournamentTest {
+
+    @Test
+    public void testEloPairwiseUpdateIsZeroSum() {
+        EloRatings ratings = new EloRatings(4);
+        ratings.record(new int[] {0, 1, 2, 3}, new int[] {10, 4, 4, 2}, 0);
+
+        double sum = 0;
+        for (int e = 0; e < 4; e++) sum += ratings.getRating(e);
+        assertEquals(4 * EloRatings.INITIAL_RATING, sum, 1e-9);
+        // Winner beat all three: 3 pairs of K/3 * 0.5
+        assertEquals(EloRatings.INITIAL_RATING + EloRatings.DEFAULT_K / 2,
+            ratings.getRating(0), 1e-9);
+        // Seats 1 and 2 drew each other, so they moved by the same amount
+        assertEquals(ratings.getRating(1), ratings.getRating(2), 1e-9);
+        assertTrue(ratings.getRating(3) < ratings.getRating(1));
+        assertEquals(1, ratings.getWins(0));
+        assertEquals(0, ratings.getWins(1));
+    }
+
+    @Test
+    public void testSharedSeatsDontRateAgainstThemselves() {
+        EloRatings ratings = new EloRatings(2);
+        ratings.record(new int[] {0, 0, 0, 1}, new int[] {5, 5, 5, 2}, -1);
+        assertEquals(3, ratings.getGames(0));
+        assertEquals(1, ratings.getGames(1));
+        assertEquals(2 * EloRatings.INITIAL_RATING,
+            ratings.getRating(0) + ratings.getRating(1), 1e-9);
+        assertEquals(5.0, ratings.meanVP(0), 1e-9);
+    }
+
+    @Test
+    public void testGreedyOutratesRandom() {
+        Tournament tournament = new Tournament(150, 2, 7L);
+        int random = tournament.addEntrant("random", s -> null);
+        int greedy = tournament.addEntrant("greedy", s -> new GreedyStrategy());
+        EloRatings ratings = tournament.run(10);
+
+        // With only two entrants seats repeat, so between them they fill all 4 seats of
+        // all 40 games; one of them may sit out a game entirely
+        assertEquals(40 * 4, ratings.getGames(random) + ratings.getGames(greedy));
+        assertTrue(tournament.standings(), ratings.getRating(greedy) > ratings.getRating(random));
+
+        // Running again keeps the ratings and adds to the counts
+        tournament.run(2);
+        assertEquals(48 * 4, ratings.getGames(random) + ratings.getGames(greedy));
+    }
+
+    @Test
+    public void testFailedRunCannotBeContinued() {
+        Tournament tournament = new Tournament(50, 2, 3L);
+        tournament.addEntrant("random", s -> null);
+        tournament.addEntrant("broken", s -> {
+            throw new IllegalArgumentException("no strategy");
+        });
+        try {
+            tournament.run(4);
+            fail("Expected the broken entrant to fail the run");
+        } catch (IllegalStateException expected) {
+            assertTrue(expected.getCause() instanceof IllegalArgumentException);
+        }
+        // Continuing would replay seeds whose results are already in the ratings
+        try {
+            tournament.run(1);
+            fail("Expected a failed tournament to refuse another run");
+        } catch (IllegalStateException expected) {
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package catan;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+public class VecEnvTest {
+
+    private int[] randomLegal(VecEnv env, Random rng) {
+        int[] ids = new int[env.numEnvs()];
+        long[] masks = env.getLegalMasks();
+        for (int i = 0; i < env.numEnvs(); i++) {
+            int legal = 0;
+            for (int w = 0; w < ActionIds.MASK_WORDS; w++) {
+                legal += Long.bitCount(masks[i * ActionIds.MASK_WORDS + w]);
+            }
+            int pick = rng.nextInt(legal);
+            for (int id = 0; id < ActionIds.COUNT; id++) {
+                if ((masks[i * ActionIds.MASK_WORDS + (id >>> 6)] & (1L << (id & 63))) != 0 && pick-- == 0) {
+                    ids[i] = id;
+                    break;
+                }
+            }
+        }
+        return ids;
+    }
+
+    @Test
+    public void testStepsUntilEveryGameFinishes() {
+        VecEnv env = new VecEnv(6, 8);
+        env.reset(new long[] {1, 2, 3, 4, 5, 6});
+        Random rng = new Random(9);
+        boolean[] finished = new boolean[6];
+        int finishedCount = 0;
+
+        for (int step = 0; step < 20000 && finishedCount < 6; step++) {
+            env.step(randomLegal(env, rng));
+            for (int i = 0; i < 6; i++) {
+                float sum = 0;
+                for (int s = 0; s < 4; s++) sum += env.getRewards()[i * 4 + s];
+                if (env.getDones()[i]) {
+                    assertTrue(sum == 0f || sum == -2f);
+                    if (!finished[i]) {
+                        finished[i] = true;
+                        finishedCount++;
+                    }
+                } else {
+                    assertEquals(0f, sum, 0f);
+                }
+                assertTrue(env.getToMove()[i] >= 0 && env.getToMove()[i] < 4);
+            }
+        }
+        assertEquals(6, finishedCount);
+    }
+
+    @Test
+    public void testObservationRowsMatchEncoder() {
+        VecEnv env = new VecEnv(3, 50);
+        env.reset(new long[] {11, 12, 13});
+        env.step(randomLegal(env, new Random(3)));
+
+        FeatureEncoder encoder = new FeatureEncoder(4);
+        float[] row = new float[encoder.size()];
+        for (int i = 0; i < 3; i++) {
+            GameState state = env.getGame(i).getGameState();
+            encoder.encode(state, state.getPlayers()[env.getToMove()[i]], row);
+            for (int f = 0; f < row.length; f++) {
+                assertEquals(row[f], env.getObservations()[i * env.observationSize() + f], 0f);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalActionIsRejected() {
+        VecEnv env = new VecEnv(1, 50);
+        env.reset(new long[] {21});
+        // Nobody can afford a city right after setup
+        env.step(new int[] {ActionIds.CITY_BASE});
+    }
+}
@@ -0,0 +1,95 @@
+package catan;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ZobristHashTest {
+
+    private long recompute(GameState state) {
+        return ZobristHash.compute(state.getBoard(), state.getBank(), state.getPlayers());
+    }
+
+    @Test
+    public void testIncrementalHashMatchesFullGame() {
+        Game game = new Game(150, true, 515L);
+        game.run();
+        GameState state = game.getGameState();
+        assertEquals(recompute(state), state.getHash());
+    }
+
+    @Test
+    public void testSecondStateOnSameObjectsIsRejected() {
+        GameState state = TestGames.midGame(518L, 10).getGameState();
+        long before = state.getHash();
+        try {
+            new GameState(state.getBoard(), state.getBank(), state.getPlayers());
+            fail("Expected a second hash on the same board to be refused");
+        } catch (IllegalStateException expected) {
+        }
+        // The first state still owns the hooks and keeps following changes
+        state.getBank().payTo(state.getPlayers()[0], ResourceType.ORE, 1);
+        assertNotEquals(before, state.getHash());
+        assertEquals(recompute(state), state.getHash());
+    }
+
+    @Test
+    public void testBuildOrderTransposes() {
+        GameState state = TestGames.midGame(516L, 0).getGameState();
+        Player p = state.getPlayers()[0];
+        TestGames.stock(state, 4, p);
+        ActionGenerator generator = new ActionGenerator();
+        List<Action> roads = new ArrayList<>();
+        for (Action a : generator.getExecutableActions(state, p, false)) {
+            if (a instanceof BuildRoadAction) roads.add(a);
+        }
+        assertTrue(roads.size() >= 2);
+        Action first = roads.get(0);
+        Action second = roads.get(1);
+        long start = state.getHash();
+
+        state.apply(first, p);
+        state.apply(second, p);
+        long ab = state.getHash();
+        state.undo();
+        state.undo();
+        assertEquals(start, state.getHash());
+
+        state.apply(second, p);
+        state.apply(first, p);
+        assertEquals(ab, state.getHash());
+        assertNotEquals(start, ab);
+        assertEquals(recompute(state), state.getHash());
+    }
+
+    @Test
+    public void testCopyHashesTheSame() {
+        GameState state = TestGames.midGame(517L, 40).getGameState();
+        assertEquals(state.getHash(), state.copy().getHash());
+    }
+
+    @Test
+    public void testTableKeepsMostVisitedOnCollision() {
+        TranspositionTable table = new TranspositionTable(16);
+        assertEquals(16, table.capacity());
+        table.record(5L, 1.0);
+        table.record(5L, 0.0);
+        assertEquals(2, table.visits(5L));
+        assertEquals(0.5, table.mean(5L), 1e-9);
+        assertTrue(Double.isNaN(table.mean(6L)));
+
+        // Keys 16 apart share a home slot; with every probe slot full the least visited goes
+        for (long k = 21; k <= 69; k += 16) {
+            table.record(k, 1.0);
+        }
+        table.record(5L + 16 * 10, 1.0);
+        assertEquals(2, table.visits(5L));
+        int survivors = 0;
+        for (long k = 21; k <= 69; k += 16) {
+            if (table.visits(k) > 0) survivors++;
+        }
+        assertEquals(2, survivors);
+    }
+}